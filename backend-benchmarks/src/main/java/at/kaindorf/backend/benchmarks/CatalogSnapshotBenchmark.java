@@ -0,0 +1,78 @@
+package at.kaindorf.backend.benchmarks;
+
+import at.kaindorf.backend.pojos.ProductCatalogRow;
+import at.kaindorf.backend.pojos.ProductSummary;
+import at.kaindorf.backend.search.CatalogSnapshot;
+import at.kaindorf.backend.search.CatalogSnapshotWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+public class CatalogSnapshotBenchmark {
+    private static final String[] COUNTRIES = {"Austria", "Germany", "France", "Italy", "Spain", "United Kingdom"};
+
+    @Param({"100000", "1000000"})
+    private int products;
+
+    private Path directory;
+    private Path file;
+    private CatalogSnapshot snapshot;
+    private long[] probes;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        directory = Files.createTempDirectory("catalog-snapshot-benchmark");
+        file = directory.resolve("catalog.snap");
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file)) {
+            for (int i = 0; i < products; i++) {
+                writer.add(new ProductCatalogRow(1_000_000_000_000L + 3L * i, "Produkt " + i, random.nextInt(900),
+                        COUNTRIES[random.nextInt(COUNTRIES.length)], "Zutaten " + i, random.nextInt(100)));
+            }
+            writer.commit();
+        }
+        snapshot = CatalogSnapshot.open(file);
+        probes = new long[1024];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = 1_000_000_000_000L + random.nextInt(products * 3);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public CatalogSnapshot open() throws IOException {
+        return CatalogSnapshot.open(file);
+    }
+
+    @Benchmark
+    public Optional<ProductSummary> lookup() {
+        return snapshot.find(probes[next++ & (probes.length - 1)]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long scanKcal() {
+        long total = 0;
+        for (int row = 0; row < snapshot.size(); row++) {
+            total += snapshot.kcal(row);
+        }
+        return total;
+    }
+}
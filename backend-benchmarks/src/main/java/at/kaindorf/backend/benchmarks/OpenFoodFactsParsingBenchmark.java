@@ -0,0 +1,52 @@
+package at.kaindorf.backend.benchmarks;
+
+import at.kaindorf.backend.database.OpenFoodFactsPageParser;
+import at.kaindorf.backend.pojos.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OpenFoodFactsParsingBenchmark {
+    @Param({"100", "1000"})
+    private int pageSize;
+
+    private final OpenFoodFactsPageParser parser = new OpenFoodFactsPageParser();
+    private byte[] page;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        StringBuilder json = new StringBuilder("{\"count\":").append(pageSize).append(",\"page\":1,\"page_size\":")
+                .append(pageSize).append(",\"products\":[");
+        for (int i = 0; i < pageSize; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"code\":\"").append(5_000_000_000_000L + i)
+                    .append("\",\"product_name\":\"Product ").append(i)
+                    .append("\",\"countries\":\"Austria, en:germany\",\"ingredients_text\":\"Water, Sugar (")
+                    .append(random.nextInt(50)).append("%), Oat flakes, Salt\",\"nutriments\":{\"energy_100g\":")
+                    .append(random.nextInt(3000)).append(",\"energy-kcal_100g\":").append(random.nextInt(900))
+                    .append(",\"fat_100g\":").append(random.nextInt(100)).append(".5,\"sugars_100g\":12.1}")
+                    .append(",\"unique_scans_n\":").append(random.nextInt(1000))
+                    .append(",\"categories_tags\":[\"en:snacks\",\"en:sweet-snacks\"],\"images\":{\"front\":{\"sizes\":{\"100\":{\"h\":100,\"w\":75}}}}}");
+        }
+        page = json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<Product> parsePage() throws IOException {
+        return parser.parse(new ByteArrayInputStream(page));
+    }
+}
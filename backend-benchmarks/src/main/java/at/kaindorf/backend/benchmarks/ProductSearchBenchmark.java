@@ -0,0 +1,65 @@
+package at.kaindorf.backend.benchmarks;
+
+import at.kaindorf.backend.pojos.ProductSummary;
+import at.kaindorf.backend.search.TrigramIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ProductSearchBenchmark {
+    private static final String[] WORDS = {"chocolate", "milk", "oat", "almond", "peanut", "butter", "cheese", "tomato",
+            "chickpea", "rice", "organic", "light", "protein", "bar", "cookie", "yogurt", "honey", "vanilla",
+            "strawberry", "soup", "bread", "whole", "grain", "crispy", "salted", "smoked", "cream", "coconut", "lentil", "pasta"};
+    private static final String[] COUNTRIES = {"Austria", "Germany", "France", "Italy", "Spain", "United Kingdom"};
+
+    @Param({"100000", "1000000"})
+    private int products;
+
+    @Param({"milk", "peanut butter", "xyz"})
+    private String query;
+
+    private TrigramIndex index;
+    private List<ProductSummary> catalog;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        catalog = new ArrayList<>(products);
+        index = new TrigramIndex(products);
+        for (int i = 0; i < products; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " "
+                    + WORDS[random.nextInt(WORDS.length)] + " " + i % 997;
+            ProductSummary product = new ProductSummary(1_000_000_000_000L + i, name, random.nextInt(900),
+                    COUNTRIES[random.nextInt(COUNTRIES.length)]);
+            catalog.add(product);
+            index.add(product);
+        }
+    }
+
+    @Benchmark
+    public TrigramIndex.SearchResult trigramIndex() {
+        return index.search(query, 0, 20);
+    }
+
+    @Benchmark
+    public List<ProductSummary> linearScan() {
+        String needle = query.toLowerCase(Locale.ROOT);
+        List<ProductSummary> page = new ArrayList<>(20);
+        for (ProductSummary product : catalog) {
+            if (product.productName().toLowerCase(Locale.ROOT).contains(needle) && page.size() < 20) {
+                page.add(product);
+            }
+        }
+        return page;
+    }
+}
@@ -0,0 +1,91 @@
+package at.kaindorf.backend.benchmarks;
+
+import at.kaindorf.backend.dto.GoalDto;
+import at.kaindorf.backend.dto.WorkoutDto;
+import at.kaindorf.backend.pojos.Exercise;
+import at.kaindorf.backend.pojos.ExerciseLevel;
+import at.kaindorf.backend.pojos.Goal;
+import at.kaindorf.backend.pojos.Workout;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"10", "100"})
+    private int goals;
+
+    private ObjectMapper objectMapper;
+    private List<Goal> goalGraph;
+    private List<Workout> workoutGraph;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<Exercise> exercises = new ArrayList<>();
+        for (int e = 0; e < 30; e++) {
+            Exercise exercise = new Exercise("Exercise " + e, ExerciseLevel.values()[e % ExerciseLevel.values().length],
+                    "Body part " + e % 6, "https://example.org/exercise-" + e + ".png", 20 + e, "Description of exercise " + e);
+            exercise.setExerciseId(e);
+            exercises.add(exercise);
+        }
+        workoutGraph = new ArrayList<>();
+        for (int w = 0; w < 12; w++) {
+            Workout workout = new Workout(30 + w, "Workout " + w, "Description of workout " + w);
+            workout.setWorkoutId(w);
+            for (int e = 0; e < 6; e++) {
+                workout.getExercises().add(exercises.get((w * 5 + e) % exercises.size()));
+            }
+            workoutGraph.add(workout);
+        }
+        goalGraph = new ArrayList<>();
+        for (int g = 0; g < goals; g++) {
+            Goal goal = new Goal("Goal " + g, LocalDate.of(2025, 1, 1).plusDays(g), 1, 2000 + g);
+            goal.setGoalId(g);
+            for (int w = 0; w < 3; w++) {
+                goal.getWorkouts().add(workoutGraph.get((g + w) % workoutGraph.size()));
+            }
+            goalGraph.add(goal);
+        }
+    }
+
+    @Benchmark
+    public byte[] goalEntityGraph() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(goalGraph);
+    }
+
+    @Benchmark
+    public byte[] goalDtos() throws JsonProcessingException {
+        List<GoalDto> dtos = new ArrayList<>(goalGraph.size());
+        for (Goal goal : goalGraph) {
+            dtos.add(GoalDto.of(goal));
+        }
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] workoutEntityGraph() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(workoutGraph);
+    }
+
+    @Benchmark
+    public byte[] workoutDtos() throws JsonProcessingException {
+        List<WorkoutDto> dtos = new ArrayList<>(workoutGraph.size());
+        for (Workout workout : workoutGraph) {
+            dtos.add(WorkoutDto.of(workout));
+        }
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+}
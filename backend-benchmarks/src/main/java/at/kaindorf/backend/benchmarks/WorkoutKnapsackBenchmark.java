@@ -0,0 +1,41 @@
+package at.kaindorf.backend.benchmarks;
+
+import at.kaindorf.backend.services.WorkoutKnapsack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorkoutKnapsackBenchmark {
+    @Param({"1000", "5000"})
+    private int workouts;
+
+    @Param({"800", "3000"})
+    private int targetKcal;
+
+    private WorkoutKnapsack knapsack;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        int[] kcal = new int[workouts];
+        int[] minutes = new int[workouts];
+        for (int i = 0; i < workouts; i++) {
+            kcal[i] = 40 + random.nextInt(600);
+            minutes[i] = 10 + random.nextInt(80);
+        }
+        knapsack = new WorkoutKnapsack(kcal, minutes, 5);
+    }
+
+    @Benchmark
+    public List<WorkoutKnapsack.Combination> best() {
+        return knapsack.best(targetKcal, 90, 3);
+    }
+}
@@ -0,0 +1,93 @@
+// Lasttest: Durchsatz und Latenz von Goal-, Workout- und Produkt-Endpunkten bei hoher Parallelität
+// Aufruf: java benchmarks/EndpointLoad.java [baseUrl] [memberId] [parallel] [sekunden]
+// Beispiel: java benchmarks/EndpointLoad.java http://localhost:8080 1 1000 60
+// Jeder Client ruft die Endpunkte reihum auf; ausgegeben werden Requests/s, p50/p99 und Fehler je Endpunkt.
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class EndpointLoad {
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        String memberId = args.length > 1 ? args[1] : "1";
+        int parallel = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 60;
+
+        String[] paths = {
+                "/goal/goals/" + memberId,
+                "/goal/summary/" + memberId,
+                "/workout/workouts",
+                "/product/filterByName/milk"
+        };
+        List<List<Long>> latencies = new ArrayList<>();
+        List<AtomicInteger> errors = new ArrayList<>();
+        List<HttpRequest> requests = new ArrayList<>();
+        for (String path : paths) {
+            latencies.add(Collections.synchronizedList(new ArrayList<>()));
+            errors.add(new AtomicInteger());
+            requests.add(HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).GET().build());
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(Math.min(parallel, 256)))
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        for (HttpRequest request : requests) {
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService clients = Executors.newFixedThreadPool(parallel);
+        for (int c = 0; c < parallel; c++) {
+            int offset = c;
+            clients.submit(() -> {
+                for (int i = offset; System.nanoTime() < deadline; i++) {
+                    int endpoint = i % paths.length;
+                    long start = System.nanoTime();
+                    try {
+                        int status = client.send(requests.get(endpoint), HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (status >= 400) {
+                            errors.get(endpoint).incrementAndGet();
+                            continue;
+                        }
+                        latencies.get(endpoint).add((System.nanoTime() - start) / 1_000);
+                    } catch (Exception e) {
+                        errors.get(endpoint).incrementAndGet();
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+
+        System.out.printf("%d parallele Clients, %d s%n", parallel, seconds);
+        List<Long> all = new ArrayList<>();
+        for (int e = 0; e < paths.length; e++) {
+            List<Long> sorted = new ArrayList<>(latencies.get(e));
+            all.addAll(sorted);
+            report(paths[e], sorted, errors.get(e).get(), seconds);
+        }
+        report("gesamt", all, errors.stream().mapToInt(AtomicInteger::get).sum(), seconds);
+        System.exit(0);
+    }
+
+    private static void report(String name, List<Long> micros, int errors, int seconds) {
+        Collections.sort(micros);
+        System.out.printf("%-32s %8.1f req/s  p50=%7.1f ms  p99=%7.1f ms  Fehler=%d%n", name,
+                micros.size() / (double) seconds, percentile(micros, 0.50), percentile(micros, 0.99), errors);
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        return sorted.isEmpty() ? 0 : sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(p * sorted.size()) - 1)) / 1000.0;
+    }
+}
@@ -0,0 +1,104 @@
+// Lasttest: Latenz von Nicht-Login-Endpunkten während eines Login-Sturms
+// Aufruf: java benchmarks/LoginBurst.java [baseUrl] [email] [passwort] [logins] [parallel]
+// Beispiel: java benchmarks/LoginBurst.java http://localhost:8080 max@test.at geheim 2000 200
+// Misst zuerst die Latenz von GET /exercise/exercises ohne Last, dann während parallel logins laufen,
+// und gibt p50/p95/p99/max sowie die Statuscodes der Logins (200, 401, 503) aus.
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LoginBurst {
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        String email = args.length > 1 ? args[1] : "max@test.at";
+        String password = args.length > 2 ? args[2] : "geheim";
+        int logins = args.length > 3 ? Integer.parseInt(args[3]) : 2000;
+        int parallel = args.length > 4 ? Integer.parseInt(args[4]) : 200;
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(parallel + 4))
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(baseUrl + "/exercise/exercises")).GET().build();
+        HttpRequest login = HttpRequest.newBuilder(URI.create(baseUrl + "/member/login?email="
+                + URLEncoder.encode(email, StandardCharsets.UTF_8) + "&password="
+                + URLEncoder.encode(password, StandardCharsets.UTF_8))).GET().build();
+
+        for (int i = 0; i < 50; i++) {
+            client.send(probe, HttpResponse.BodyHandlers.discarding());
+        }
+        report("ohne Last", probeFor(client, probe, new AtomicBoolean(true), 200));
+
+        AtomicBoolean burstRunning = new AtomicBoolean(true);
+        Map<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+        AtomicInteger remaining = new AtomicInteger(logins);
+        ExecutorService burst = Executors.newFixedThreadPool(parallel);
+        long started = System.nanoTime();
+        for (int t = 0; t < parallel; t++) {
+            burst.submit(() -> {
+                while (remaining.getAndDecrement() > 0) {
+                    int status;
+                    try {
+                        status = client.send(login, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    statuses.computeIfAbsent(status, s -> new AtomicInteger()).incrementAndGet();
+                }
+                return null;
+            });
+        }
+        burst.shutdown();
+        Thread watcher = new Thread(() -> {
+            try {
+                burst.awaitTermination(1, TimeUnit.HOURS);
+            } catch (InterruptedException ignored) {
+            }
+            burstRunning.set(false);
+        });
+        watcher.start();
+
+        report("während " + logins + " Logins (" + parallel + " parallel)", probeFor(client, probe, burstRunning, Integer.MAX_VALUE));
+        watcher.join();
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("Logins: %s in %.1f s (%.0f/s)%n", statuses, seconds, logins / seconds);
+        System.exit(0);
+    }
+
+    private static List<Long> probeFor(HttpClient client, HttpRequest probe, AtomicBoolean running, int maxProbes) throws Exception {
+        List<Long> micros = new ArrayList<>();
+        while (running.get() && micros.size() < maxProbes) {
+            long start = System.nanoTime();
+            client.send(probe, HttpResponse.BodyHandlers.discarding());
+            micros.add((System.nanoTime() - start) / 1_000);
+            Thread.sleep(20);
+        }
+        return micros;
+    }
+
+    private static void report(String phase, List<Long> micros) {
+        Collections.sort(micros);
+        System.out.printf("GET /exercise/exercises %s: n=%d p50=%.1f ms p95=%.1f ms p99=%.1f ms max=%.1f ms%n", phase,
+                micros.size(), percentile(micros, 0.50), percentile(micros, 0.95), percentile(micros, 0.99),
+                micros.isEmpty() ? 0 : micros.get(micros.size() - 1) / 1000.0);
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        return sorted.isEmpty() ? 0 : sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(p * sorted.size()) - 1)) / 1000.0;
+    }
+}
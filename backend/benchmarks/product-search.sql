@@ -0,0 +1,60 @@
+-- Produktsuche: LIKE (findByProductNameContainingIgnoreCase) vs. pg_trgm/tsvector (searchRankedByName)
+-- Aufruf: psql -U postgres -d Fitness2Care -f benchmarks/product-search.sql
+-- Legt eine synthetische Tabelle mit 1.000.000 Produkten im Schema product_bench an und entfernt sie am Ende wieder.
+
+\timing on
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+DROP SCHEMA IF EXISTS product_bench CASCADE;
+CREATE SCHEMA product_bench;
+SET search_path = product_bench, public;
+
+CREATE TABLE product (LIKE public.product INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING GENERATED);
+
+WITH words AS (
+    SELECT ARRAY['chocolate', 'milk', 'oat', 'almond', 'peanut', 'butter', 'cheese', 'tomato', 'chickpea', 'rice',
+                 'organic', 'light', 'protein', 'bar', 'cookie', 'yogurt', 'honey', 'vanilla', 'strawberry', 'soup',
+                 'bread', 'whole', 'grain', 'crispy', 'salted', 'smoked', 'cream', 'coconut', 'lentil', 'pasta'] AS w
+)
+INSERT INTO product (barcode, product_name, kcal_100g, origin_country, ingredients)
+SELECT 1000000000000 + i,
+       initcap(w[1 + (i * 7) % 30] || ' ' || w[1 + (i * 13) % 30] || ' ' || w[1 + (i * 31) % 29]) || ' ' || (i % 997),
+       (i * 37) % 900,
+       (ARRAY['Austria', 'Germany', 'en:gb', 'France', 'Spain'])[1 + i % 5],
+       w[1 + (i * 3) % 30] || ', ' || w[1 + (i * 11) % 30] || ', ' || w[1 + (i * 17) % 30] || ', salt, sugar'
+FROM generate_series(1, 1000000) AS i, words;
+
+ANALYZE product;
+
+\echo '--- LIKE ohne Index (Seite 1 + count) ---'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM product WHERE upper(product_name) LIKE upper('%choco%') ESCAPE '\' OFFSET 0 LIMIT 50;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM product WHERE upper(product_name) LIKE upper('%choco%') ESCAPE '\';
+
+CREATE INDEX product_name_trgm_idx ON product USING gin (product_name gin_trgm_ops);
+CREATE INDEX product_search_vector_idx ON product USING gin (search_vector);
+ANALYZE product;
+
+\echo '--- pg_trgm/tsvector, nach Aehnlichkeit sortiert (Seite 1 + count) ---'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.* FROM product p
+WHERE p.product_name ILIKE '%choco%' OR p.search_vector @@ websearch_to_tsquery('simple', 'choco')
+ORDER BY similarity(p.product_name, 'choco') DESC,
+         ts_rank(p.search_vector, websearch_to_tsquery('simple', 'choco')) DESC, p.barcode
+OFFSET 0 LIMIT 50;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM product p
+WHERE p.product_name ILIKE '%choco%' OR p.search_vector @@ websearch_to_tsquery('simple', 'choco');
+
+\echo '--- seltener Begriff ---'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM product WHERE upper(product_name) LIKE upper('%lentil pasta%') ESCAPE '\' OFFSET 0 LIMIT 50;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.* FROM product p
+WHERE p.product_name ILIKE '%lentil pasta%' OR p.search_vector @@ websearch_to_tsquery('simple', 'lentil pasta')
+ORDER BY similarity(p.product_name, 'lentil pasta') DESC,
+         ts_rank(p.search_vector, websearch_to_tsquery('simple', 'lentil pasta')) DESC, p.barcode
+OFFSET 0 LIMIT 50;
+
+RESET search_path;
+DROP SCHEMA product_bench CASCADE;
@@ -0,0 +1,38 @@
+#!/usr/bin/env bash
+# Vergleich Plattform-Threads vs. virtuelle Threads mit benchmarks/EndpointLoad.java
+# Aufruf: JAVA_HOME=/pfad/zu/jdk-21 benchmarks/threading-modes.sh [memberId] [parallel] [sekunden]
+# Startet das Backend nacheinander ohne Profil und mit Profil "virtual" und misst jeweils dieselbe Last.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+MEMBER_ID=${1:-1}
+PARALLEL=${2:-1000}
+SECONDS_PER_RUN=${3:-60}
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+
+# Unter Java < 21 startet das Profil "virtual" nicht, ein Vergleich wäre ohnehin wertlos
+JAVA_VERSION=$("$JAVA" -XshowSettings:properties -version 2>&1 | awk -F'= ' '/java.specification.version/ {print $2}')
+if [ "${JAVA_VERSION%%.*}" -lt 21 ]; then
+    echo "Java $JAVA_VERSION unterstützt keine virtuellen Threads, Messung abgebrochen (JAVA_HOME auf ein JDK 21 setzen)" >&2
+    exit 1
+fi
+
+./mvnw -q -DskipTests package
+JAR=$(ls target/backend-*-exec.jar | head -n 1)
+
+for PROFILE in default virtual; do
+    echo "== $PROFILE =="
+    "$JAVA" -jar "$JAR" --spring.profiles.active="$PROFILE" > "target/threading-$PROFILE.log" 2>&1 &
+    PID=$!
+    until curl -sf http://localhost:8080/workout/workouts > /dev/null; do
+        if ! kill -0 "$PID" 2> /dev/null; then
+            echo "Backend mit Profil $PROFILE nicht gestartet, siehe target/threading-$PROFILE.log" >&2
+            exit 1
+        fi
+        sleep 1
+    done
+    grep -m 1 "Requests laufen auf" "target/threading-$PROFILE.log" || true
+    "$JAVA" benchmarks/EndpointLoad.java http://localhost:8080 "$MEMBER_ID" "$PARALLEL" "$SECONDS_PER_RUN"
+    kill "$PID"
+    wait "$PID" || true
+done
@@ -0,0 +1,179 @@
+package at.kaindorf.backend.cache;
+
+import at.kaindorf.backend.dto.ExerciseDto;
+import at.kaindorf.backend.dto.WorkoutDto;
+import at.kaindorf.backend.repositorys.ExerciseRepository;
+import at.kaindorf.backend.repositorys.WorkoutRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class CatalogCache {
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong version = new AtomicLong();
+    private final ExerciseRepository exerciseRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate primaryTransaction;
+    private final Catalog exercises;
+    private final Catalog workouts;
+    private final long checkIntervalNanos;
+    private final AtomicLong nextCheck = new AtomicLong(System.nanoTime());
+    private volatile long sharedVersion = -1;
+
+    public CatalogCache(ExerciseRepository exerciseRepository, WorkoutRepository workoutRepository,
+                        ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                        @Value("${catalog.cache.check-interval:1s}") Duration checkInterval,
+                        MeterRegistry meterRegistry) {
+        this.exerciseRepository = exerciseRepository;
+        this.objectMapper = objectMapper;
+        this.checkIntervalNanos = checkInterval.toNanos();
+        // nicht read-only: nach invalidate() muss die Primary gelesen werden, eine nachhinkende Replica würde veraltete Daten cachen
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.exercises = new Catalog("exercises",
+                () -> exerciseRepository.getExercise().stream().map(ExerciseDto::of).toList());
+        this.workouts = new Catalog("workouts",
+                () -> workoutRepository.getAllWorkouts().stream().map(WorkoutDto::of).toList());
+        exercises.register(meterRegistry);
+        workouts.register(meterRegistry);
+    }
+
+    public Catalog exercises() {
+        return exercises;
+    }
+
+    public Catalog workouts() {
+        return workouts;
+    }
+
+    public long version() {
+        checkSharedVersion();
+        return version.get();
+    }
+
+    public void invalidate() {
+        long current = version.incrementAndGet();
+        log.info("Katalog-Cache invalidiert, neue Version " + current);
+    }
+
+    // Änderungen auf anderen Knoten kommen nur über die Datenbank an: höchstens einmal pro Intervall wird
+    // training_catalog_version gelesen, ein neuer Stand invalidiert den lokalen Cache
+    private void checkSharedVersion() {
+        long now = System.nanoTime();
+        long due = nextCheck.get();
+        if (now - due < 0 || !nextCheck.compareAndSet(due, now + checkIntervalNanos)) {
+            return;
+        }
+        long current;
+        try {
+            current = primaryTransaction.execute(status -> exerciseRepository.trainingCatalogVersion());
+        } catch (RuntimeException e) {
+            log.warn("Katalogversion konnte nicht gelesen werden, Cache bleibt unverändert: " + e.getMessage());
+            return;
+        }
+        long previous = sharedVersion;
+        sharedVersion = current;
+        if (previous >= 0 && previous != current) {
+            invalidate();
+        }
+    }
+
+    public record Snapshot(String eTag, byte[] json) {
+    }
+
+    public record Stats(long hits, long misses, long loads, long lastLoadMillis, long totalLoadMillis) {
+        public double hitRatio() {
+            long requests = hits + misses;
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+    }
+
+    public final class Catalog {
+        private final String name;
+        private final Supplier<Object> loader;
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong loads = new AtomicLong();
+        private final AtomicLong totalLoadMillis = new AtomicLong();
+        private volatile long lastLoadMillis;
+        private volatile VersionedSnapshot current;
+
+        private Catalog(String name, Supplier<Object> loader) {
+            this.name = name;
+            this.loader = loader;
+        }
+
+        public String eTag() {
+            checkSharedVersion();
+            return eTag(version.get());
+        }
+
+        public Snapshot get() {
+            checkSharedVersion();
+            VersionedSnapshot snapshot = current;
+            if (snapshot != null && snapshot.version() == version.get()) {
+                hits.incrementAndGet();
+                return snapshot.snapshot();
+            }
+            misses.incrementAndGet();
+            synchronized (this) {
+                long loadVersion = version.get();
+                snapshot = current;
+                if (snapshot == null || snapshot.version() != loadVersion) {
+                    snapshot = new VersionedSnapshot(loadVersion, new Snapshot(eTag(loadVersion), load()));
+                    current = snapshot;
+                }
+                return snapshot.snapshot();
+            }
+        }
+
+        public Stats stats() {
+            return new Stats(hits.get(), misses.get(), loads.get(), lastLoadMillis, totalLoadMillis.get());
+        }
+
+        private void register(MeterRegistry meterRegistry) {
+            FunctionCounter.builder("catalog.cache.requests", hits, AtomicLong::get)
+                    .tags("catalog", name, "result", "hit").register(meterRegistry);
+            FunctionCounter.builder("catalog.cache.requests", misses, AtomicLong::get)
+                    .tags("catalog", name, "result", "miss").register(meterRegistry);
+            Gauge.builder("catalog.cache.load.last", this, catalog -> catalog.lastLoadMillis)
+                    .tag("catalog", name).baseUnit("milliseconds").register(meterRegistry);
+        }
+
+        private byte[] load() {
+            long started = System.nanoTime();
+            byte[] json = primaryTransaction.execute(status -> {
+                try {
+                    return objectMapper.writeValueAsBytes(loader.get());
+                } catch (JsonProcessingException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            lastLoadMillis = (System.nanoTime() - started) / 1_000_000;
+            totalLoadMillis.addAndGet(lastLoadMillis);
+            loads.incrementAndGet();
+            log.info("Katalog " + name + " geladen: " + json.length + " Bytes in " + lastLoadMillis + " ms");
+            return json;
+        }
+
+        private String eTag(long catalogVersion) {
+            return "\"" + name + "-" + epoch + "-" + catalogVersion + "\"";
+        }
+    }
+
+    private record VersionedSnapshot(long version, Snapshot snapshot) {
+    }
+}
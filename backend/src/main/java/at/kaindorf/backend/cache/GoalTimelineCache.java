@@ -0,0 +1,118 @@
+package at.kaindorf.backend.cache;
+
+import at.kaindorf.backend.pojos.Goal;
+import at.kaindorf.backend.repositorys.GoalRepository;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+public class GoalTimelineCache {
+    private final GoalRepository goalRepository;
+    private final LongKeyCache<Timeline> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public GoalTimelineCache(GoalRepository goalRepository,
+                             @Value("${goal.timeline.capacity:10000}") int capacity,
+                             MeterRegistry meterRegistry) {
+        this.goalRepository = goalRepository;
+        this.cache = new LongKeyCache<>(capacity);
+        FunctionCounter.builder("goal.timeline.requests", cache, c -> c.stats().hits())
+                .tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("goal.timeline.requests", cache, c -> c.stats().misses())
+                .tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("goal.timeline.evictions", cache, c -> c.stats().evictions()).register(meterRegistry);
+        Gauge.builder("goal.timeline.size", cache, c -> c.stats().size()).register(meterRegistry);
+    }
+
+    public Optional<Entry> currentGoal(Integer memberId, LocalDate date) {
+        Timeline timeline = cache.get(memberId);
+        if (timeline == null) {
+            long loadGeneration = generation.get();
+            timeline = Timeline.of(goalRepository.findByUserIdOrderByDateAscGoalIdAsc(memberId));
+            if (generation.get() == loadGeneration) {
+                cache.put(memberId, timeline);
+            }
+        }
+        return Optional.ofNullable(timeline.ceiling(date));
+    }
+
+    public void invalidate(Integer memberId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(memberId);
+                }
+            });
+            return;
+        }
+        generation.incrementAndGet();
+        cache.invalidate(memberId);
+        log.info("Ziel-Zeitleiste von Member " + memberId + " invalidiert");
+    }
+
+    public void invalidateAll(Collection<Integer> memberIds) {
+        generation.incrementAndGet();
+        for (Integer memberId : memberIds) {
+            cache.invalidate(memberId);
+        }
+        log.info("Ziel-Zeitleisten von " + memberIds.size() + " Membern invalidiert");
+    }
+
+    public LongKeyCache.Stats stats() {
+        return cache.stats();
+    }
+
+    public record Entry(Integer goalId, String goalName, @JsonFormat(pattern = "yyyy-MM-dd") LocalDate date,
+                        Integer userId, Integer kcal) {
+    }
+
+    static final class Timeline {
+        private final long[] days;
+        private final Entry[] entries;
+
+        private Timeline(long[] days, Entry[] entries) {
+            this.days = days;
+            this.entries = entries;
+        }
+
+        static Timeline of(List<Goal> goalsByDate) {
+            long[] days = new long[goalsByDate.size()];
+            Entry[] entries = new Entry[goalsByDate.size()];
+            for (int i = 0; i < entries.length; i++) {
+                Goal goal = goalsByDate.get(i);
+                days[i] = goal.getDate().toEpochDay();
+                entries[i] = new Entry(goal.getGoalId(), goal.getGoalName(), goal.getDate(), goal.getUserId(), goal.getKcal());
+            }
+            return new Timeline(days, entries);
+        }
+
+        Entry ceiling(LocalDate date) {
+            long day = date.toEpochDay();
+            int index = Arrays.binarySearch(days, day);
+            if (index < 0) {
+                index = -index - 1;
+            } else {
+                while (index > 0 && days[index - 1] == day) {
+                    index--;
+                }
+            }
+            return index < entries.length ? entries[index] : null;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package at.kaindorf.backend.cache;
+
+import at.kaindorf.backend.search.LongIntHashMap;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LongKeyCache<V> {
+    private static final int SEGMENTS = 16;
+
+    private final Segment<V>[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public LongKeyCache(int capacity) {
+        int segmentCapacity = Math.max(1, (capacity + SEGMENTS - 1) / SEGMENTS);
+        segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment<>(segmentCapacity, evictions);
+        }
+    }
+
+    public V get(long key) {
+        V value = segment(key).get(key);
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return value;
+    }
+
+    public void put(long key, V value) {
+        segment(key).put(key, value);
+    }
+
+    // Stempel vor dem Laden lesen: putIfUnchanged verwirft den Wert, wenn der Schlüssel inzwischen invalidiert wurde
+    public long stamp(long key) {
+        return segment(key).stamp();
+    }
+
+    public boolean putIfUnchanged(long key, V value, long stamp) {
+        return segment(key).putIfUnchanged(key, value, stamp);
+    }
+
+    public void invalidate(long key) {
+        segment(key).invalidate(key);
+    }
+
+    public void clear() {
+        for (Segment<V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public Stats stats() {
+        long size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size();
+        }
+        return new Stats(size, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private Segment<V> segment(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return segments[(int) (hash >>> 60) & (SEGMENTS - 1)];
+    }
+
+    public record Stats(long size, long hits, long misses, long evictions) {
+        public double hitRatio() {
+            long requests = hits + misses;
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+    }
+
+    private static final class Segment<V> {
+        private final LongIntHashMap index;
+        private final long[] keys;
+        private final Object[] values;
+        private final boolean[] referenced;
+        private final LongAdder evictions;
+        private int used;
+        private int hand;
+        private long invalidations;
+
+        private Segment(int capacity, LongAdder evictions) {
+            this.index = new LongIntHashMap(capacity);
+            this.keys = new long[capacity];
+            this.values = new Object[capacity];
+            this.referenced = new boolean[capacity];
+            this.evictions = evictions;
+        }
+
+        @SuppressWarnings("unchecked")
+        private synchronized V get(long key) {
+            int entry = index.get(key, -1);
+            if (entry < 0) {
+                return null;
+            }
+            referenced[entry] = true;
+            return (V) values[entry];
+        }
+
+        private synchronized void put(long key, V value) {
+            int entry = index.get(key, -1);
+            if (entry >= 0) {
+                values[entry] = value;
+                referenced[entry] = true;
+                return;
+            }
+            entry = used < keys.length ? used++ : evict();
+            keys[entry] = key;
+            values[entry] = value;
+            referenced[entry] = false;
+            index.put(key, entry);
+        }
+
+        private synchronized long stamp() {
+            return invalidations;
+        }
+
+        private synchronized boolean putIfUnchanged(long key, V value, long stamp) {
+            if (invalidations != stamp) {
+                return false;
+            }
+            put(key, value);
+            return true;
+        }
+
+        private synchronized void invalidate(long key) {
+            invalidations++;
+            int entry = index.remove(key, -1);
+            if (entry >= 0) {
+                values[entry] = null;
+                referenced[entry] = false;
+            }
+        }
+
+        private synchronized void clear() {
+            invalidations++;
+            index.clear();
+            Arrays.fill(values, null);
+            Arrays.fill(referenced, false);
+            used = 0;
+            hand = 0;
+        }
+
+        private synchronized int size() {
+            return index.size();
+        }
+
+        private int evict() {
+            while (true) {
+                int candidate = hand;
+                hand = (hand + 1) % keys.length;
+                if (values[candidate] == null) {
+                    return candidate;
+                }
+                if (referenced[candidate]) {
+                    referenced[candidate] = false;
+                } else {
+                    index.remove(keys[candidate], -1);
+                    evictions.increment();
+                    return candidate;
+                }
+            }
+        }
+    }
+}
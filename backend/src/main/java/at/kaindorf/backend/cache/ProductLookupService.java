@@ -0,0 +1,150 @@
+package at.kaindorf.backend.cache;
+
+import at.kaindorf.backend.dto.ProductDto;
+import at.kaindorf.backend.pojos.Product;
+import at.kaindorf.backend.repositorys.ProductRepository;
+import at.kaindorf.backend.search.CatalogSnapshot;
+import at.kaindorf.backend.search.CatalogSnapshotLoadedEvent;
+import at.kaindorf.backend.search.CatalogSnapshotService;
+import at.kaindorf.backend.search.ProductCatalogImportedEvent;
+import at.kaindorf.backend.search.ProductChangedEvent;
+import at.kaindorf.backend.search.ProductRemovedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class ProductLookupService {
+    private final ProductRepository productRepository;
+    private final CatalogSnapshotService snapshotService;
+    // Unveränderliche Kopien statt Entities: gecachte Objekte werden von vielen Requests geteilt
+    private final LongKeyCache<ProductDto> cache;
+    // Barcode -> Zeitpunkt der Änderung; solange der Snapshot älter ist, wird die Datenbank gefragt
+    private final Map<Long, Long> changedAt = new ConcurrentHashMap<>();
+    private final AtomicLong snapshotHits = new AtomicLong();
+    private volatile long importedAt;
+
+    public ProductLookupService(ProductRepository productRepository, CatalogSnapshotService snapshotService,
+                                @Value("${product.cache.capacity:100000}") int capacity,
+                                MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.snapshotService = snapshotService;
+        this.cache = new LongKeyCache<>(capacity);
+        FunctionCounter.builder("product.cache.requests", snapshotHits, AtomicLong::get)
+                .tag("result", "snapshot").register(meterRegistry);
+        FunctionCounter.builder("product.cache.requests", cache, c -> c.stats().hits())
+                .tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("product.cache.requests", cache, c -> c.stats().misses())
+                .tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("product.cache.evictions", cache, c -> c.stats().evictions()).register(meterRegistry);
+        Gauge.builder("product.cache.size", cache, c -> c.stats().size()).register(meterRegistry);
+    }
+
+    public Optional<ProductDto> findByBarcode(long barcode) {
+        ProductDto product = fromSnapshot(usableSnapshot(), barcode);
+        if (product != null) {
+            return Optional.of(product);
+        }
+        product = cache.get(barcode);
+        if (product == null) {
+            long stamp = cache.stamp(barcode);
+            product = productRepository.findById(barcode).map(ProductDto::of).orElse(null);
+            if (product != null) {
+                cache.putIfUnchanged(barcode, product, stamp);
+            }
+        }
+        return Optional.ofNullable(product);
+    }
+
+    public List<ProductDto> findByBarcodes(long[] barcodes) {
+        CatalogSnapshot snapshot = usableSnapshot();
+        ProductDto[] found = new ProductDto[barcodes.length];
+        Map<Long, Long> missing = new HashMap<>();
+        for (int i = 0; i < barcodes.length; i++) {
+            found[i] = fromSnapshot(snapshot, barcodes[i]);
+            if (found[i] == null) {
+                found[i] = cache.get(barcodes[i]);
+            }
+            if (found[i] == null) {
+                missing.put(barcodes[i], cache.stamp(barcodes[i]));
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (Product entity : productRepository.findAllById(new ArrayList<>(missing.keySet()))) {
+                ProductDto product = ProductDto.of(entity);
+                cache.putIfUnchanged(product.barcode(), product, missing.get(product.barcode()));
+                for (int i = 0; i < barcodes.length; i++) {
+                    if (found[i] == null && barcodes[i] == product.barcode()) {
+                        found[i] = product;
+                    }
+                }
+            }
+        }
+
+        List<ProductDto> products = new ArrayList<>(barcodes.length);
+        for (ProductDto product : found) {
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    public LongKeyCache.Stats stats() {
+        return cache.stats();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void productChanged(ProductChangedEvent event) {
+        changedAt.put(event.product().getBarcode(), System.currentTimeMillis());
+        cache.invalidate(event.product().getBarcode());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void productRemoved(ProductRemovedEvent event) {
+        changedAt.put(event.barcode(), System.currentTimeMillis());
+        cache.invalidate(event.barcode());
+    }
+
+    @EventListener(ProductCatalogImportedEvent.class)
+    public void catalogImported() {
+        importedAt = System.currentTimeMillis();
+        cache.clear();
+    }
+
+    @EventListener
+    public void snapshotLoaded(CatalogSnapshotLoadedEvent event) {
+        changedAt.values().removeIf(changed -> changed < event.snapshot().createdAt());
+    }
+
+    private CatalogSnapshot usableSnapshot() {
+        CatalogSnapshot snapshot = snapshotService.current().orElse(null);
+        return snapshot != null && snapshot.createdAt() >= importedAt ? snapshot : null;
+    }
+
+    private ProductDto fromSnapshot(CatalogSnapshot snapshot, long barcode) {
+        if (snapshot == null || changedAt.containsKey(barcode)) {
+            return null;
+        }
+        int row = snapshot.rowOf(barcode);
+        if (row < 0) {
+            return null;
+        }
+        snapshotHits.incrementAndGet();
+        return new ProductDto(barcode, snapshot.name(row), snapshot.kcal(row), snapshot.country(row),
+                snapshot.ingredients(row), snapshot.popularity(row));
+    }
+}
@@ -0,0 +1,15 @@
+package at.kaindorf.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("login")
+public class LoginProperties {
+    private String tokenSecret;
+    private Duration tokenTtl = Duration.ofMinutes(15);
+    private int hashingThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private int hashingQueueCapacity = 64;
+}
@@ -0,0 +1,40 @@
+package at.kaindorf.backend.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.OptionalInt;
+
+@RequiredArgsConstructor
+@Slf4j
+public class LoginTokenFilter extends OncePerRequestFilter {
+    private static final String BEARER = "Bearer ";
+
+    private final LoginTokenService tokenService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER)) {
+            OptionalInt memberId = tokenService.verify(header.substring(BEARER.length()));
+            if (memberId.isPresent()) {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(memberId.getAsInt(), null, List.of()));
+            } else {
+                log.debug("Token ungültig oder abgelaufen, Anfrage " + request.getRequestURI() + " läuft anonym weiter");
+            }
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,85 @@
+package at.kaindorf.backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.OptionalInt;
+
+@Component
+@Slf4j
+public class LoginTokenService {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Clock clock;
+    private final ThreadLocal<Mac> macs;
+
+    public LoginTokenService(LoginProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    LoginTokenService(LoginProperties properties, Clock clock) {
+        byte[] secret;
+        if (properties.getTokenSecret() == null || properties.getTokenSecret().isBlank()) {
+            secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+            log.warn("Kein login.token-secret gesetzt, Tokens sind nur bis zum Neustart gültig");
+        } else {
+            secret = Base64.getDecoder().decode(properties.getTokenSecret());
+        }
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.ttl = properties.getTokenTtl();
+        this.clock = clock;
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    public String issue(int memberId) {
+        long expires = clock.instant().plus(ttl).getEpochSecond();
+        String payload = ENCODER.encodeToString((memberId + ":" + expires).getBytes(StandardCharsets.US_ASCII));
+        return payload + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    public OptionalInt verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return OptionalInt.empty();
+        }
+        String payload = token.substring(0, dot);
+        try {
+            if (!MessageDigest.isEqual(sign(payload), DECODER.decode(token.substring(dot + 1)))) {
+                return OptionalInt.empty();
+            }
+            String[] claims = new String(DECODER.decode(payload), StandardCharsets.US_ASCII).split(":");
+            if (claims.length != 2 || Long.parseLong(claims[1]) <= clock.instant().getEpochSecond()) {
+                return OptionalInt.empty();
+            }
+            return OptionalInt.of(Integer.parseInt(claims[0]));
+        } catch (IllegalArgumentException e) {
+            return OptionalInt.empty();
+        }
+    }
+
+    private byte[] sign(String payload) {
+        return macs.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+}
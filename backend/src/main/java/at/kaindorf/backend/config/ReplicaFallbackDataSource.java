@@ -0,0 +1,80 @@
+package at.kaindorf.backend.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class ReplicaFallbackDataSource extends DelegatingDataSource {
+    private final DataSource primary;
+    private final Duration retryAfter;
+    private final Clock clock;
+    private final AtomicLong fallbacks = new AtomicLong();
+    private volatile Instant unavailableUntil = Instant.MIN;
+
+    public ReplicaFallbackDataSource(DataSource replica, DataSource primary, Duration retryAfter) {
+        this(replica, primary, retryAfter, Clock.systemUTC());
+    }
+
+    ReplicaFallbackDataSource(DataSource replica, DataSource primary, Duration retryAfter, Clock clock) {
+        super(replica);
+        this.primary = primary;
+        this.retryAfter = retryAfter;
+        this.clock = clock;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (clock.instant().isBefore(unavailableUntil)) {
+            return fallback();
+        }
+        try {
+            return super.getConnection();
+        } catch (SQLException e) {
+            if (!connectionFailure(e)) {
+                throw e;
+            }
+            unavailableUntil = clock.instant().plus(retryAfter);
+            log.warn("Replica nicht erreichbar, Lesezugriffe gehen für " + retryAfter.toSeconds()
+                    + " s an die Primary: " + e.getMessage());
+            return fallback();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    public boolean available() {
+        return !clock.instant().isBefore(unavailableUntil);
+    }
+
+    public long fallbacks() {
+        return fallbacks.get();
+    }
+
+    // Hikari meldet einen ausgelasteten Pool als Timeout ohne Ursache, ist die Replica nicht erreichbar,
+    // hängt der letzte Verbindungsfehler am Timeout. Nur dann wird auf die Primary ausgewichen.
+    static boolean connectionFailure(SQLException e) {
+        if (e instanceof SQLTransientConnectionException) {
+            return e.getCause() != null;
+        }
+        return true;
+    }
+
+    private Connection fallback() throws SQLException {
+        fallbacks.incrementAndGet();
+        Connection connection = primary.getConnection();
+        connection.setReadOnly(true);
+        return connection;
+    }
+}
@@ -0,0 +1,38 @@
+package at.kaindorf.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ThreadingModeLogger {
+    private final Environment environment;
+
+    // Ohne Java 21 würde Spring still auf Plattform-Threads zurückfallen und das Profil "virtual" nur den Pool umstellen
+    @PostConstruct
+    public void checkVirtualThreadSupport() {
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                && !Threading.VIRTUAL.isActive(environment)) {
+            throw new IllegalStateException("spring.threads.virtual.enabled ist gesetzt, aber Java "
+                    + Runtime.version().feature() + " unterstützt keine virtuellen Threads (benötigt Java 21)");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logThreadingMode() {
+        String poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", "10");
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Requests laufen auf virtuellen Threads, Hikari-Pool " + poolSize);
+        } else {
+            log.info("Requests laufen auf Plattform-Threads (max. "
+                    + environment.getProperty("server.tomcat.threads.max", "200") + "), Hikari-Pool " + poolSize);
+        }
+    }
+}
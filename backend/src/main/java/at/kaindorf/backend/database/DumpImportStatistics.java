@@ -0,0 +1,7 @@
+package at.kaindorf.backend.database;
+
+public record DumpImportStatistics(long inserted, long updated, long millis, double rowsPerSecond) {
+    public long written() {
+        return inserted + updated;
+    }
+}
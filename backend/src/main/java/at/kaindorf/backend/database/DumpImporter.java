@@ -0,0 +1,242 @@
+package at.kaindorf.backend.database;
+
+import at.kaindorf.backend.pojos.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class DumpImporter {
+    private static final String CREATE_STAGING = "CREATE TEMP TABLE product_staging (LIKE product INCLUDING DEFAULTS) ON COMMIT DROP";
+    private static final String COPY_STAGING = "COPY product_staging (barcode, product_name, kcal_100g, origin_country, ingredients, popularity) FROM STDIN WITH (FORMAT csv)";
+    // Vorhandene Produkte werden nur überschrieben, wenn sich eine Spalte geändert hat; xmax = 0 kennzeichnet neu eingefügte Zeilen
+    private static final String MERGE_STAGING = "WITH merged AS ("
+            + "INSERT INTO product (barcode, product_name, kcal_100g, origin_country, ingredients, popularity) "
+            + "SELECT DISTINCT ON (barcode) barcode, product_name, kcal_100g, origin_country, ingredients, popularity FROM product_staging "
+            + "ORDER BY barcode ON CONFLICT (barcode) DO UPDATE SET product_name = EXCLUDED.product_name, kcal_100g = EXCLUDED.kcal_100g, "
+            + "origin_country = EXCLUDED.origin_country, ingredients = EXCLUDED.ingredients, popularity = EXCLUDED.popularity "
+            + "WHERE (product.product_name, product.kcal_100g, product.origin_country, product.ingredients, product.popularity) "
+            + "IS DISTINCT FROM (EXCLUDED.product_name, EXCLUDED.kcal_100g, EXCLUDED.origin_country, EXCLUDED.ingredients, EXCLUDED.popularity) "
+            + "RETURNING xmax = 0 AS inserted) "
+            + "SELECT count(*) FILTER (WHERE inserted), count(*) FILTER (WHERE NOT inserted) FROM merged";
+    private static final int COPY_BUFFER_SIZE = 1024 * 1024;
+
+    private final DataSource dataSource;
+    private final ImportMetrics metrics;
+    private final OpenFoodFactsPageParser pageParser = new OpenFoodFactsPageParser();
+
+    public DumpImportStatistics importDump(Path dump) throws IOException, SQLException {
+        long started = System.nanoTime();
+        log.info("Dump-Import aus " + dump + " startet");
+
+        CopyResult copy;
+        long inserted;
+        long updated;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING);
+            }
+
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new PGCopyOutputStream(pgConnection, COPY_STAGING, COPY_BUFFER_SIZE), StandardCharsets.UTF_8), 64 * 1024)) {
+                copy = isCsv(dump) ? copyCsv(dump, writer) : copyJsonl(dump, writer);
+            }
+
+            try (Statement statement = connection.createStatement();
+                 ResultSet merged = statement.executeQuery(MERGE_STAGING)) {
+                merged.next();
+                inserted = merged.getLong(1);
+                updated = merged.getLong(2);
+            }
+            connection.commit();
+        }
+
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        DumpImportStatistics statistics = new DumpImportStatistics(inserted, updated, millis,
+                millis > 0 ? (inserted + updated) * 1000.0 / millis : 0);
+        metrics.dumpRowsMalformed(copy.malformed());
+        metrics.dumpImportFinished(statistics);
+        if (copy.malformed() > 0) {
+            log.warn("Dump-Import: " + copy.malformed() + " fehlerhafte Zeilen übersprungen");
+        }
+        log.info("Dump-Import abgeschlossen: " + copy.rows() + " Zeilen gelesen, " + inserted + " neu, " + updated
+                + " aktualisiert in " + millis + " ms");
+        return statistics;
+    }
+
+    CopyResult copyJsonl(Path dump, Writer writer) throws IOException {
+        long[] counts = new long[3];
+        MappedLineReader.forEachLine(dump, (line, length) -> {
+            long lineNumber = ++counts[2];
+            Product product;
+            try {
+                product = pageParser.parseProduct(line, 0, length);
+            } catch (JsonProcessingException e) {
+                product = null;
+            }
+            if (product == null) {
+                counts[1]++;
+                log.debug("Dump-Import: fehlerhafte JSON-Zeile " + lineNumber + " übersprungen");
+            } else if (product.getBarcode() > 0) {
+                writeRow(writer, product);
+                counts[0]++;
+            }
+        });
+        return new CopyResult(counts[0], counts[1]);
+    }
+
+    CopyResult copyCsv(Path dump, Writer writer) throws IOException {
+        Map<String, Integer> columns = new HashMap<>();
+        long[] counts = new long[3];
+        MappedLineReader.forEachLine(dump, (line, length) -> {
+            long lineNumber = ++counts[2];
+            List<String> parsed = splitFields(new String(line, 0, length, StandardCharsets.UTF_8));
+            if (columns.isEmpty()) {
+                if (parsed != null) {
+                    for (int i = 0; i < parsed.size(); i++) {
+                        columns.put(parsed.get(i), i);
+                    }
+                }
+                return;
+            }
+            if (parsed == null || parsed.size() != columns.size()) {
+                counts[1]++;
+                log.debug("Dump-Import: fehlerhafte CSV-Zeile " + lineNumber + " übersprungen");
+                return;
+            }
+            String[] fields = parsed.toArray(new String[0]);
+            long barcode = parseLong(field(fields, columns, "code"));
+            if (barcode <= 0) {
+                return;
+            }
+            writeRow(writer, new Product(
+                    barcode,
+                    OpenFoodFactsPageParser.truncate(field(fields, columns, "product_name")),
+                    (int) parseDouble(field(fields, columns, "energy-kcal_100g")),
+                    OpenFoodFactsPageParser.truncate(field(fields, columns, "countries")),
+                    field(fields, columns, "ingredients_text"),
+                    (int) parseLong(field(fields, columns, "unique_scans_n"))
+            ));
+            counts[0]++;
+        });
+        return new CopyResult(counts[0], counts[1]);
+    }
+
+    static List<String> splitFields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        while (true) {
+            field.setLength(0);
+            if (i < line.length() && line.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= line.length()) {
+                        return null;
+                    }
+                    char c = line.charAt(i++);
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                if (i < line.length() && line.charAt(i) != '\t') {
+                    return null;
+                }
+            } else {
+                int end = line.indexOf('\t', i);
+                field.append(line, i, end < 0 ? line.length() : end);
+                i = end < 0 ? line.length() : end;
+            }
+            fields.add(field.toString());
+            if (i >= line.length()) {
+                return fields;
+            }
+            i++;
+        }
+    }
+
+    private static void writeRow(Writer writer, Product product) throws IOException {
+        writer.write(Long.toString(product.getBarcode()));
+        writer.write(',');
+        writeQuoted(writer, product.getProductName());
+        writer.write(',');
+        writer.write(Integer.toString(product.getKcal_100g()));
+        writer.write(',');
+        writeQuoted(writer, product.getOriginCountry());
+        writer.write(',');
+        writeQuoted(writer, product.getIngredients());
+        writer.write(',');
+        writer.write(Integer.toString(product.getPopularity()));
+        writer.write('\n');
+    }
+
+    private static void writeQuoted(Writer writer, String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write("\"\"");
+            } else if (c != '\0') {
+                writer.write(c);
+            }
+        }
+        writer.write('"');
+    }
+
+    private static boolean isCsv(Path dump) {
+        String name = dump.getFileName().toString().toLowerCase();
+        return name.endsWith(".csv") || name.endsWith(".tsv");
+    }
+
+    private static String field(String[] fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index != null && index < fields.length ? fields[index] : "";
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static double parseDouble(String value) {
+        try {
+            return value.isBlank() ? 0 : Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    record CopyResult(long rows, long malformed) {
+    }
+}
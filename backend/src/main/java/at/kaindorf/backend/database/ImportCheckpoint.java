@@ -0,0 +1,30 @@
+package at.kaindorf.backend.database;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.OptionalInt;
+
+public class ImportCheckpoint {
+    private final Path file;
+
+    public ImportCheckpoint(Path file) {
+        this.file = file;
+    }
+
+    public OptionalInt load() throws IOException {
+        if (!Files.exists(file)) {
+            return OptionalInt.empty();
+        }
+        String content = Files.readString(file).trim();
+        return content.isEmpty() ? OptionalInt.empty() : OptionalInt.of(Integer.parseInt(content));
+    }
+
+    public void save(int lastCommittedPage) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        Files.writeString(tmp, Integer.toString(lastCommittedPage));
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,61 @@
+package at.kaindorf.backend.database;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class ImportMetrics {
+    private final Counter apiPages;
+    private final Counter apiRows;
+    private final Counter dumpRows;
+    private final Counter dumpUpdated;
+    private final Counter dumpMalformed;
+    private final Timer apiDuration;
+    private final Timer dumpDuration;
+    private final AtomicLong apiRowsPerSecond = new AtomicLong();
+    private final AtomicLong dumpRowsPerSecond = new AtomicLong();
+
+    public ImportMetrics(MeterRegistry meterRegistry) {
+        apiPages = Counter.builder("importer.pages.fetched").tag("source", "api").register(meterRegistry);
+        apiRows = Counter.builder("importer.rows.written").tag("source", "api").register(meterRegistry);
+        dumpRows = Counter.builder("importer.rows.written").tag("source", "dump").register(meterRegistry);
+        dumpUpdated = Counter.builder("importer.rows.updated").tag("source", "dump").register(meterRegistry);
+        dumpMalformed = Counter.builder("importer.rows.malformed").tag("source", "dump").register(meterRegistry);
+        apiDuration = Timer.builder("importer.duration").tag("source", "api").register(meterRegistry);
+        dumpDuration = Timer.builder("importer.duration").tag("source", "dump").register(meterRegistry);
+        Gauge.builder("importer.throughput", apiRowsPerSecond, AtomicLong::get)
+                .tag("source", "api").baseUnit("rows.per.second").register(meterRegistry);
+        Gauge.builder("importer.throughput", dumpRowsPerSecond, AtomicLong::get)
+                .tag("source", "dump").baseUnit("rows.per.second").register(meterRegistry);
+    }
+
+    void pageFetched() {
+        apiPages.increment();
+    }
+
+    void apiRowsWritten(int rows) {
+        apiRows.increment(rows);
+    }
+
+    void apiImportFinished(ImportStatistics statistics) {
+        apiDuration.record(statistics.millis(), TimeUnit.MILLISECONDS);
+        apiRowsPerSecond.set(Math.round(statistics.productsPerSecond()));
+    }
+
+    void dumpRowsMalformed(long rows) {
+        dumpMalformed.increment(rows);
+    }
+
+    void dumpImportFinished(DumpImportStatistics statistics) {
+        dumpRows.increment(statistics.written());
+        dumpUpdated.increment(statistics.updated());
+        dumpDuration.record(statistics.millis(), TimeUnit.MILLISECONDS);
+        dumpRowsPerSecond.set(Math.round(statistics.rowsPerSecond()));
+    }
+}
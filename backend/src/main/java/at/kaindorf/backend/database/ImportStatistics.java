@@ -0,0 +1,4 @@
+package at.kaindorf.backend.database;
+
+public record ImportStatistics(int pages, long products, long millis, double productsPerSecond) {
+}
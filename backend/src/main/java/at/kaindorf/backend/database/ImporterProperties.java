@@ -0,0 +1,23 @@
+package at.kaindorf.backend.database;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "importer")
+public class ImporterProperties {
+    private boolean enabled = false;
+    private String apiUrl = "https://world.openfoodfacts.org/cgi/search.pl?search_terms=&search_simple=1&action=process&json=1&page_size=1000&page=";
+    private int startPage = 1;
+    private int fetchThreads = 2;
+    private int queueCapacity = 4;
+    private double requestsPerMinute = 10;
+    private int burst = 1;
+    private int maxAttempts = 3;
+    private Duration retryBackoff = Duration.ofSeconds(1);
+    private Path checkpointFile = Path.of("import-checkpoint.txt");
+    private Path dumpFile;
+}
@@ -0,0 +1,57 @@
+package at.kaindorf.backend.database;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public class MappedLineReader {
+    private static final long WINDOW_SIZE = 256L * 1024 * 1024;
+
+    @FunctionalInterface
+    public interface LineHandler {
+        void handle(byte[] line, int length) throws IOException;
+    }
+
+    public static long forEachLine(Path file, LineHandler handler) throws IOException {
+        return forEachLine(file, WINDOW_SIZE, handler);
+    }
+
+    static long forEachLine(Path file, long windowSize, LineHandler handler) throws IOException {
+        long lines = 0;
+        byte[] line = new byte[64 * 1024];
+        int length = 0;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += windowSize) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowSize, size - position));
+                while (window.hasRemaining()) {
+                    byte b = window.get();
+                    if (b == '\n') {
+                        if (length > 0 && line[length - 1] == '\r') {
+                            length--;
+                        }
+                        if (length > 0) {
+                            handler.handle(line, length);
+                            lines++;
+                        }
+                        length = 0;
+                    } else {
+                        if (length == line.length) {
+                            line = Arrays.copyOf(line, length * 2);
+                        }
+                        line[length++] = b;
+                    }
+                }
+            }
+        }
+        if (length > 0) {
+            handler.handle(line, length);
+            lines++;
+        }
+        return lines;
+    }
+}
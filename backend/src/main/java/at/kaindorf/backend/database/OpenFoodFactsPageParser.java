@@ -0,0 +1,107 @@
+package at.kaindorf.backend.database;
+
+import at.kaindorf.backend.pojos.Product;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+public class OpenFoodFactsPageParser {
+    public static final int MAX_TEXT_LENGTH = 255;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public List<Product> parse(InputStream in) throws IOException {
+        List<Product> products = new ArrayList<>();
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return products;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("products".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        products.add(readProduct(parser));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return products;
+    }
+
+    public Product parseProduct(byte[] json, int offset, int length) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json, offset, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            Product product = readProduct(parser);
+            if (parser.currentToken() != JsonToken.END_OBJECT) {
+                throw new JsonParseException(parser, "Produkt ist unvollständig");
+            }
+            return product;
+        }
+    }
+
+    public static String truncate(String value) {
+        return value.length() > MAX_TEXT_LENGTH ? value.substring(0, MAX_TEXT_LENGTH) : value;
+    }
+
+    private Product readProduct(JsonParser parser) throws IOException {
+        long barcode = 0;
+        String productName = "";
+        int kcal_100g = 0;
+        String originCountry = "";
+        String ingredients = "";
+        int popularity = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "code" -> barcode = parser.getValueAsLong(0);
+                case "product_name" -> productName = readText(parser);
+                case "countries" -> originCountry = readText(parser);
+                case "ingredients_text" -> ingredients = readText(parser);
+                case "nutriments" -> kcal_100g = readKcal(parser);
+                case "unique_scans_n" -> popularity = parser.getValueAsInt(0);
+                default -> parser.skipChildren();
+            }
+        }
+
+        return new Product(barcode, truncate(productName), kcal_100g, truncate(originCountry), ingredients, popularity);
+    }
+
+    private int readKcal(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return 0;
+        }
+        int kcal = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("energy-kcal_100g".equals(field)) {
+                kcal = parser.getValueAsInt(0);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return kcal;
+    }
+
+    private String readText(JsonParser parser) throws IOException {
+        if (parser.currentToken().isStructStart()) {
+            parser.skipChildren();
+            return "";
+        }
+        return parser.getValueAsString("");
+    }
+}
@@ -0,0 +1,172 @@
+package at.kaindorf.backend.database;
+
+import at.kaindorf.backend.pojos.Product;
+import at.kaindorf.backend.repositorys.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+@Slf4j
+public class ProductImporter {
+    private static final ParsedPage END_OF_PARSE = new ParsedPage(-1, List.of());
+
+    private final ProductRepository productRepository;
+    private final ImporterProperties properties;
+    private final ImportMetrics metrics;
+    private final HttpClient httpClient;
+    private final OpenFoodFactsPageParser pageParser = new OpenFoodFactsPageParser();
+
+    public ProductImporter(ProductRepository productRepository, ImporterProperties properties, ImportMetrics metrics) {
+        this.productRepository = productRepository;
+        this.properties = properties;
+        this.metrics = metrics;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(30))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    public ImportStatistics importProducts() throws IOException, InterruptedException {
+        ImportCheckpoint checkpoint = new ImportCheckpoint(properties.getCheckpointFile());
+        OptionalInt lastCheckpoint = checkpoint.load();
+        int firstPage = lastCheckpoint.isPresent() ? lastCheckpoint.getAsInt() + 1 : properties.getStartPage();
+        log.info("Import startet bei Seite " + firstPage);
+
+        TokenBucket tokenBucket = new TokenBucket(properties.getBurst(), properties.getRequestsPerMinute() / 60.0);
+        BlockingQueue<ParsedPage> parsedPages = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        AtomicInteger nextPage = new AtomicInteger(firstPage);
+        AtomicInteger endPage = new AtomicInteger(Integer.MAX_VALUE);
+        AtomicInteger runningFetchers = new AtomicInteger(properties.getFetchThreads());
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        // Abrufen und Parsen in einem Schritt: die Antwort wird direkt aus dem Stream gelesen, statt erst ganz im Speicher zu liegen
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getFetchThreads());
+        for (int i = 0; i < properties.getFetchThreads(); i++) {
+            executor.submit(() -> {
+                try {
+                    int page;
+                    while (failure.get() == null && (page = nextPage.getAndIncrement()) < endPage.get()) {
+                        tokenBucket.acquire();
+                        List<Product> products = fetch(page);
+                        metrics.pageFetched();
+                        if (products.isEmpty()) {
+                            endPage.accumulateAndGet(page, Math::min);
+                        }
+                        parsedPages.put(new ParsedPage(page, products));
+                    }
+                } catch (Exception e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    if (runningFetchers.decrementAndGet() == 0) {
+                        putQuietly(parsedPages, END_OF_PARSE);
+                    }
+                }
+            });
+        }
+
+        long started = System.nanoTime();
+        int nextToCommit = firstPage;
+        TreeSet<Integer> committedAhead = new TreeSet<>();
+        int pages = 0;
+        long products = 0;
+
+        try {
+            ParsedPage parsed;
+            while ((parsed = parsedPages.take()) != END_OF_PARSE) {
+                if (parsed.page() >= endPage.get()) {
+                    continue;
+                }
+                productRepository.saveAll(parsed.products());
+                metrics.apiRowsWritten(parsed.products().size());
+                pages++;
+                products += parsed.products().size();
+
+                committedAhead.add(parsed.page());
+                if (committedAhead.first() == nextToCommit) {
+                    while (!committedAhead.isEmpty() && committedAhead.first() == nextToCommit) {
+                        committedAhead.pollFirst();
+                        nextToCommit++;
+                    }
+                    checkpoint.save(nextToCommit - 1);
+                }
+                log.info("Seite " + parsed.page() + " gespeichert, " + products + " Produkte, "
+                        + String.format("%.1f", rate(products, started)) + " Produkte/s");
+            }
+        } catch (RuntimeException | IOException e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ImportStatistics statistics = new ImportStatistics(pages, products, (System.nanoTime() - started) / 1_000_000, rate(products, started));
+        if (failure.get() != null) {
+            log.error("Import abgebrochen nach " + statistics + ", Fortsetzung ab Seite " + nextToCommit, failure.get());
+            throw new IOException("Import abgebrochen", failure.get());
+        }
+        metrics.apiImportFinished(statistics);
+        log.info("Import abgeschlossen: " + statistics);
+        return statistics;
+    }
+
+    private List<Product> fetch(int page) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(properties.getApiUrl() + page))
+                .timeout(Duration.ofMinutes(2))
+                .header("User-Agent", "Fitness2Care-Importer")
+                .GET()
+                .build();
+
+        // Verbindungsabbrüche und Timeouts werden wie fehlerhafte HTTP-Antworten wiederholt
+        IOException lastFailure = null;
+        for (int attempt = 1; attempt <= properties.getMaxAttempts(); attempt++) {
+            try {
+                HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                try (InputStream body = response.body()) {
+                    if (response.statusCode() == 200) {
+                        return pageParser.parse(body);
+                    }
+                    lastFailure = new IOException("HTTP " + response.statusCode());
+                }
+            } catch (IOException e) {
+                lastFailure = e;
+            }
+            log.warn("Seite " + page + " konnte nicht geladen werden (Versuch " + attempt + "): " + lastFailure.getMessage());
+            if (attempt < properties.getMaxAttempts()) {
+                Thread.sleep(properties.getRetryBackoff().toMillis() * attempt);
+            }
+        }
+        throw new IOException("Seite " + page + " konnte nicht geladen werden", lastFailure);
+    }
+
+    private static double rate(long products, long started) {
+        double seconds = (System.nanoTime() - started) / 1e9;
+        return seconds > 0 ? products / seconds : 0;
+    }
+
+    private static <T> void putQuietly(BlockingQueue<T> queue, T element) {
+        try {
+            queue.put(element);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record ParsedPage(int page, List<Product> products) {
+    }
+}
@@ -0,0 +1,17 @@
+package at.kaindorf.backend.dto;
+
+import at.kaindorf.backend.pojos.ConsumptionEntry;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record ConsumptionEntryDto(Long entryId, Integer memberId, Integer goalId, Long barcode, String productName,
+                                  Integer grams, Integer kcal, @JsonFormat(pattern = "yyyy-MM-dd") LocalDate date,
+                                  LocalDateTime consumedAt, Long reversedEntryId) {
+    public static ConsumptionEntryDto of(ConsumptionEntry entry) {
+        return new ConsumptionEntryDto(entry.getEntryId(), entry.getMemberId(), entry.getGoalId(), entry.getBarcode(),
+                entry.getProductName(), entry.getGrams(), entry.getKcal(), entry.getDate(), entry.getConsumedAt(),
+                entry.getReversedEntryId());
+    }
+}
@@ -0,0 +1,13 @@
+package at.kaindorf.backend.dto;
+
+import at.kaindorf.backend.pojos.DailyCalories;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+
+public record DailyCaloriesDto(Integer memberId, @JsonFormat(pattern = "yyyy-MM-dd") LocalDate date, Long kcal,
+                               Integer entries) {
+    public static DailyCaloriesDto of(DailyCalories daily) {
+        return new DailyCaloriesDto(daily.getMemberId(), daily.getDate(), daily.getKcal(), daily.getEntries());
+    }
+}
@@ -0,0 +1,12 @@
+package at.kaindorf.backend.dto;
+
+import at.kaindorf.backend.pojos.Exercise;
+import at.kaindorf.backend.pojos.ExerciseLevel;
+
+public record ExerciseDto(Integer exerciseId, String exerciseName, ExerciseLevel exerciseLevel, String bodyPart,
+                          String imageURL, Integer kcal, String description) {
+    public static ExerciseDto of(Exercise exercise) {
+        return new ExerciseDto(exercise.getExerciseId(), exercise.getExerciseName(), exercise.getExerciseLevel(),
+                exercise.getBodyPart(), exercise.getImageURL(), exercise.getKcal(), exercise.getDescription());
+    }
+}
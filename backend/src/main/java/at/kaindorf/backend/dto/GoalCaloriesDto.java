@@ -0,0 +1,9 @@
+package at.kaindorf.backend.dto;
+
+import at.kaindorf.backend.pojos.GoalCalories;
+
+public record GoalCaloriesDto(Integer goalId, Long kcal, Integer entries) {
+    public static GoalCaloriesDto of(GoalCalories goal) {
+        return new GoalCaloriesDto(goal.getGoalId(), goal.getKcal(), goal.getEntries());
+    }
+}
@@ -0,0 +1,21 @@
+package at.kaindorf.backend.dto;
+
+import at.kaindorf.backend.pojos.Goal;
+import at.kaindorf.backend.pojos.Workout;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public record GoalDto(Integer goalId, String goalName, @JsonFormat(pattern = "yyyy-MM-dd") LocalDate date,
+                      Integer userId, Integer kcal, List<WorkoutDto> workouts) {
+    public static GoalDto of(Goal goal) {
+        List<WorkoutDto> workouts = new ArrayList<>(goal.getWorkouts().size());
+        for (Workout workout : goal.getWorkouts()) {
+            workouts.add(WorkoutDto.of(workout));
+        }
+        return new GoalDto(goal.getGoalId(), goal.getGoalName(), goal.getDate(), goal.getUserId(), goal.getKcal(),
+                workouts);
+    }
+}
@@ -0,0 +1,11 @@
+package at.kaindorf.backend.dto;
+
+import at.kaindorf.backend.pojos.Member;
+
+public record MemberDto(Integer memberId, String firstName, String lastName, String email, String phone,
+                        Integer weight) {
+    public static MemberDto of(Member member) {
+        return new MemberDto(member.getMemberId(), member.getFirstName(), member.getLastName(), member.getEmail(),
+                member.getPhone(), member.getWeight());
+    }
+}
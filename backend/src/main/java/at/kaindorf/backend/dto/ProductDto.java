@@ -0,0 +1,11 @@
+package at.kaindorf.backend.dto;
+
+import at.kaindorf.backend.pojos.Product;
+
+public record ProductDto(Long barcode, String productName, Integer kcal_100g, String originCountry,
+                         String ingredients, Integer popularity) {
+    public static ProductDto of(Product product) {
+        return new ProductDto(product.getBarcode(), product.getProductName(), product.getKcal_100g(),
+                product.getOriginCountry(), product.getIngredients(), product.getPopularity());
+    }
+}
@@ -0,0 +1,21 @@
+package at.kaindorf.backend.dto;
+
+import at.kaindorf.backend.pojos.Exercise;
+import at.kaindorf.backend.pojos.Workout;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public record WorkoutDto(Integer workoutId, Integer time, List<ExerciseDto> exercises, String workoutName,
+                         String description) {
+    public static WorkoutDto of(Workout workout) {
+        List<ExerciseDto> exercises = new ArrayList<>();
+        if (workout.getExercises() != null) {
+            for (Exercise exercise : workout.getExercises()) {
+                exercises.add(ExerciseDto.of(exercise));
+            }
+        }
+        return new WorkoutDto(workout.getWorkoutId(), workout.getTime(), exercises, workout.getWorkoutName(),
+                workout.getDescription());
+    }
+}
@@ -0,0 +1,19 @@
+package at.kaindorf.backend.metrics;
+
+import org.hibernate.SessionEventListener;
+
+// wird von Hibernate pro Session instanziert, gezählt wird in den Request des aktuellen Threads
+public class RequestCacheListener implements SessionEventListener {
+    @Override
+    public void cacheGetEnd(boolean hit) {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics == null) {
+            return;
+        }
+        if (hit) {
+            statistics.cacheHits++;
+        } else {
+            statistics.cacheMisses++;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package at.kaindorf.backend.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+public class RequestEntityLoadCounter implements Interceptor {
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            statistics.entityLoads++;
+        }
+        return false;
+    }
+}
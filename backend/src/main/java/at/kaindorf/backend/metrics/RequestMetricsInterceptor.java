@@ -0,0 +1,54 @@
+package at.kaindorf.backend.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+@RequiredArgsConstructor
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestStatistics.start();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestStatistics.stop();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestStatistics statistics = RequestStatistics.stop();
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of(
+                "method", request.getMethod(),
+                "uri", pattern == null ? "UNKNOWN" : pattern.toString(),
+                "handler", handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName());
+        record("http.server.requests.statements", "SQL-Statements pro Request", "statements", tags, statistics.statements);
+        record("http.server.requests.entity.loads", "Geladene Entities pro Request", "entities", tags, statistics.entityLoads);
+        record("http.server.requests.cache.hits", "Second-Level-Cache-Treffer pro Request", "hits", tags, statistics.cacheHits);
+        record("http.server.requests.cache.misses", "Second-Level-Cache-Fehlgriffe pro Request", "misses", tags, statistics.cacheMisses);
+    }
+
+    private void record(String name, String description, String unit, Tags tags, int value) {
+        DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit(unit)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(value);
+    }
+}
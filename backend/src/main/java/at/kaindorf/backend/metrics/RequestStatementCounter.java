@@ -0,0 +1,14 @@
+package at.kaindorf.backend.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class RequestStatementCounter implements StatementInspector {
+    @Override
+    public String inspect(String sql) {
+        RequestStatistics statistics = RequestStatistics.current();
+        if (statistics != null) {
+            statistics.statements++;
+        }
+        return sql;
+    }
+}
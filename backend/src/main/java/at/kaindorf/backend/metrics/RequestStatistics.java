@@ -0,0 +1,25 @@
+package at.kaindorf.backend.metrics;
+
+final class RequestStatistics {
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+    private static final RequestStatistics EMPTY = new RequestStatistics();
+
+    int statements;
+    int entityLoads;
+    int cacheHits;
+    int cacheMisses;
+
+    static void start() {
+        CURRENT.set(new RequestStatistics());
+    }
+
+    static RequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    static RequestStatistics stop() {
+        RequestStatistics statistics = CURRENT.get();
+        CURRENT.remove();
+        return statistics == null ? EMPTY : statistics;
+    }
+}
@@ -0,0 +1,41 @@
+package at.kaindorf.backend.pojos;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@RequiredArgsConstructor
+@Entity
+public class ConsumptionEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long entryId;
+    @NonNull
+    @Column(nullable = false)
+    private Integer memberId;
+    private Integer goalId;
+    @NonNull
+    @Column(nullable = false)
+    private Long barcode;
+    @NonNull
+    @Column(nullable = false)
+    private String productName;
+    @NonNull
+    @Column(nullable = false)
+    private Integer grams;
+    @NonNull
+    @Column(nullable = false)
+    private Integer kcal;
+    @NonNull
+    @Column(nullable = false)
+    private LocalDate date;
+    @NonNull
+    @Column(nullable = false)
+    private LocalDateTime consumedAt;
+    private Long reversedEntryId;
+}
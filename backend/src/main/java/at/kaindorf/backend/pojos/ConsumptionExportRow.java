@@ -0,0 +1,8 @@
+package at.kaindorf.backend.pojos;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record ConsumptionExportRow(Long entryId, Integer goalId, Long barcode, String productName, Integer grams,
+                                   Integer kcal, LocalDate date, LocalDateTime consumedAt, Long reversedEntryId) {
+}
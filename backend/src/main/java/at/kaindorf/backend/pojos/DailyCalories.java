@@ -0,0 +1,22 @@
+package at.kaindorf.backend.pojos;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@IdClass(DailyCaloriesId.class)
+public class DailyCalories {
+    @Id
+    private Integer memberId;
+    @Id
+    private LocalDate date;
+    @Column(nullable = false)
+    private Long kcal;
+    @Column(nullable = false)
+    private Integer entries;
+}
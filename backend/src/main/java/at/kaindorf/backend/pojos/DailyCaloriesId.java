@@ -0,0 +1,14 @@
+package at.kaindorf.backend.pojos;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailyCaloriesId implements Serializable {
+    private Integer memberId;
+    private LocalDate date;
+}
@@ -1,7 +1,5 @@
 package at.kaindorf.backend.pojos;
 
-import com.fasterxml.jackson.annotation.JsonBackReference;
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -38,7 +36,5 @@ public class Exercise {
     private String description;
     @ManyToMany(mappedBy = "exercises")
     @ToString.Exclude
-    //@JsonBackReference(value = "workout-exercises")
-    @JsonIgnore
     private List<Workout> workouts;
 }
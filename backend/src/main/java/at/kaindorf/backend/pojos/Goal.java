@@ -1,22 +1,18 @@
 package at.kaindorf.backend.pojos;
 
-import com.fasterxml.jackson.annotation.JsonFormat;
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashSet;
 import java.util.Locale;
+import java.util.Set;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @RequiredArgsConstructor
 @Entity
-@JsonIgnoreProperties(ignoreUnknown = true)
 public class Goal {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE)
@@ -26,7 +22,6 @@ public class Goal {
     private String goalName;
     @NonNull
     @Column(nullable = false)
-    @JsonFormat(pattern = "yyyy-MM-dd")
     private LocalDate date;
     @NonNull
     @Column(nullable = false)
@@ -40,7 +35,8 @@ public class Goal {
             joinColumns = @JoinColumn(name = "goal_id"),
             inverseJoinColumns = @JoinColumn(name = "workout_id")
     )
-    @JsonManagedReference(value = "goal-workouts")
-    private List<Workout> workouts = new ArrayList<>();
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Set<Workout> workouts = new LinkedHashSet<>();
 
 }
@@ -0,0 +1,17 @@
+package at.kaindorf.backend.pojos;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+public class GoalCalories {
+    @Id
+    private Integer goalId;
+    @Column(nullable = false)
+    private Long kcal;
+    @Column(nullable = false)
+    private Integer entries;
+}
@@ -0,0 +1,7 @@
+package at.kaindorf.backend.pojos;
+
+import java.time.LocalDate;
+
+public record GoalExportRow(Integer goalId, String goalName, LocalDate date, Integer kcal,
+                            Integer workoutId, String workoutName, Integer minutes) {
+}
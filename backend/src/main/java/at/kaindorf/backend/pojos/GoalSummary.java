@@ -0,0 +1,16 @@
+package at.kaindorf.backend.pojos;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+
+public interface GoalSummary {
+    Integer getGoalId();
+    String getGoalName();
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    LocalDate getDate();
+    Integer getKcal();
+    Long getWorkoutCount();
+    Long getExerciseKcal();
+    Long getMinutes();
+}
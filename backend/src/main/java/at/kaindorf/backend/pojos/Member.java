@@ -19,7 +19,7 @@ public class Member {
     @Column(nullable = false)
     private String lastName;
     @NonNull
-    @Column(nullable = false)
+    @Column(nullable = false, unique = true)
     private String email;
     @NonNull
     @Column(nullable = false)
@@ -1,5 +1,6 @@
 package at.kaindorf.backend.pojos;
 
+import at.kaindorf.backend.search.ProductChangeListener;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -11,6 +12,7 @@ import java.util.List;
 @NoArgsConstructor
 @RequiredArgsConstructor
 @Entity
+@EntityListeners(ProductChangeListener.class)
 public class Product {
     @Id
     private Long barcode;
@@ -26,4 +28,6 @@ public class Product {
     @NonNull
     @Column(columnDefinition = "TEXT")
     private String ingredients;
+    @Column(nullable = false)
+    private Integer popularity = 0;
 }
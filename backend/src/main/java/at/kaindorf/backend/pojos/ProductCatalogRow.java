@@ -0,0 +1,5 @@
+package at.kaindorf.backend.pojos;
+
+public record ProductCatalogRow(Long barcode, String productName, Integer kcal_100g, String originCountry,
+                                String ingredients, Integer popularity) {
+}
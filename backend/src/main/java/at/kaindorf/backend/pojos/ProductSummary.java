@@ -0,0 +1,4 @@
+package at.kaindorf.backend.pojos;
+
+public record ProductSummary(Long barcode, String productName, Integer kcal_100g, String originCountry) {
+}
@@ -0,0 +1,7 @@
+package at.kaindorf.backend.pojos;
+
+public interface RankedBarcode {
+    Long getBarcode();
+    Float getSimilarity();
+    Float getRank();
+}
@@ -1,9 +1,5 @@
     package at.kaindorf.backend.pojos;
 
-    import com.fasterxml.jackson.annotation.JsonBackReference;
-    import com.fasterxml.jackson.annotation.JsonIgnore;
-    import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-    import com.fasterxml.jackson.annotation.JsonManagedReference;
     import jakarta.persistence.*;
     import lombok.*;
 
@@ -15,7 +11,6 @@
     @NoArgsConstructor
     @RequiredArgsConstructor
     @Entity
-    @JsonIgnoreProperties(ignoreUnknown = true)
     public class Workout {
         @Id
         @GeneratedValue(strategy = GenerationType.SEQUENCE)
@@ -27,8 +22,7 @@
 
         @ManyToMany
         @ToString.Exclude
-        @JsonIgnoreProperties("workouts")
-        //@JsonManagedReference(value = "workout-exercises")
+        @EqualsAndHashCode.Exclude
         @JoinTable(
                 name = "workout_exercise",
                 joinColumns = @JoinColumn(name = "workout_id"),
@@ -45,8 +39,7 @@
         private String description;
 
         @ManyToMany(mappedBy = "workouts")
-        @JsonIgnore
-        //@JsonBackReference(value = "goal-workouts")
         @ToString.Exclude
+        @EqualsAndHashCode.Exclude
         private List<Goal> goals = new ArrayList<>();
     }
\ No newline at end of file
@@ -0,0 +1,4 @@
+package at.kaindorf.backend.pojos;
+
+public record WorkoutExerciseRow(Integer workoutId, String workoutName, Integer time, Integer kcal, ExerciseLevel exerciseLevel) {
+}
@@ -0,0 +1,34 @@
+package at.kaindorf.backend.repositorys;
+
+import at.kaindorf.backend.pojos.ConsumptionEntry;
+import at.kaindorf.backend.pojos.ConsumptionExportRow;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+public interface ConsumptionEntryRepository extends JpaRepository<ConsumptionEntry, Long> {
+    List<ConsumptionEntry> findByMemberIdAndDateOrderByConsumedAt(Integer memberId, LocalDate date);
+
+    boolean existsByReversedEntryId(Long reversedEntryId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ConsumptionEntry c WHERE c.entryId = :entryId")
+    Optional<ConsumptionEntry> findByIdForUpdate(@Param("entryId") Long entryId);
+
+    @Query("SELECT new at.kaindorf.backend.pojos.ConsumptionExportRow(c.entryId, c.goalId, c.barcode, c.productName, " +
+            "c.grams, c.kcal, c.date, c.consumedAt, c.reversedEntryId) FROM ConsumptionEntry c " +
+            "WHERE c.memberId = :memberId ORDER BY c.date, c.consumedAt, c.entryId")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<ConsumptionExportRow> streamExportRowsByMemberId(@Param("memberId") Integer memberId);
+}
@@ -0,0 +1,22 @@
+package at.kaindorf.backend.repositorys;
+
+import at.kaindorf.backend.pojos.DailyCalories;
+import at.kaindorf.backend.pojos.DailyCaloriesId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailyCaloriesRepository extends JpaRepository<DailyCalories, DailyCaloriesId> {
+    List<DailyCalories> findByMemberIdAndDateBetweenOrderByDate(Integer memberId, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_calories (member_id, date, kcal, entries) VALUES (:memberId, :date, :kcal, :entries) " +
+            "ON CONFLICT (member_id, date) DO UPDATE SET kcal = daily_calories.kcal + EXCLUDED.kcal, " +
+            "entries = daily_calories.entries + EXCLUDED.entries", nativeQuery = true)
+    void addCalories(@Param("memberId") Integer memberId, @Param("date") LocalDate date,
+                     @Param("kcal") long kcal, @Param("entries") int entries);
+}
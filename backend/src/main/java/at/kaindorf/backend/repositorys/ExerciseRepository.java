@@ -13,4 +13,8 @@ public interface ExerciseRepository extends JpaRepository<Exercise,Integer> {
 
     @Query("SELECT e FROM Exercise e WHERE e.exerciseName = ?1")
     Exercise getExerciseByExerciseNameName(String exerciseName);
+
+    // per Trigger bei jeder Änderung an Übungen und Workouts erhöht (V10__training_catalog_version.sql)
+    @Query(value = "SELECT version FROM training_catalog_version WHERE id = 1", nativeQuery = true)
+    long trainingCatalogVersion();
 }
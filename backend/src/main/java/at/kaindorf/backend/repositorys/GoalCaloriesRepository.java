@@ -0,0 +1,15 @@
+package at.kaindorf.backend.repositorys;
+
+import at.kaindorf.backend.pojos.GoalCalories;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface GoalCaloriesRepository extends JpaRepository<GoalCalories, Integer> {
+    @Modifying
+    @Query(value = "INSERT INTO goal_calories (goal_id, kcal, entries) VALUES (:goalId, :kcal, :entries) " +
+            "ON CONFLICT (goal_id) DO UPDATE SET kcal = goal_calories.kcal + EXCLUDED.kcal, " +
+            "entries = goal_calories.entries + EXCLUDED.entries", nativeQuery = true)
+    void addCalories(@Param("goalId") Integer goalId, @Param("kcal") long kcal, @Param("entries") int entries);
+}
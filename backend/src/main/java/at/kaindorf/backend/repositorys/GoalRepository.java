@@ -1,18 +1,61 @@
 package at.kaindorf.backend.repositorys;
 
 import at.kaindorf.backend.pojos.Goal;
+import at.kaindorf.backend.pojos.GoalExportRow;
+import at.kaindorf.backend.pojos.GoalSummary;
+import jakarta.persistence.QueryHint;
 import lombok.NonNull;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface GoalRepository extends JpaRepository<Goal, Integer> {
     List<Goal> getGoalsByUserId(@NonNull Integer userId);
 
     Goal getGoalByGoalId(Integer goalId);
 
-    @Query("SELECT g FROM Goal g WHERE g.userId = :memberId AND g.date >= :date ORDER BY g.date ASC LIMIT 1")
-    Goal findCurrentGoalByMemberIdAndDate(Long memberId, LocalDate date);
+    List<Goal> findByUserIdOrderByDateAscGoalIdAsc(Integer userId);
+
+    @Query("SELECT new at.kaindorf.backend.pojos.GoalExportRow(g.goalId, g.goalName, g.date, g.kcal, " +
+            "w.workoutId, w.workoutName, w.time) FROM Goal g LEFT JOIN g.workouts w " +
+            "WHERE g.userId = :userId ORDER BY g.date, g.goalId, w.workoutId")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<GoalExportRow> streamExportRowsByUserId(@Param("userId") Integer userId);
+
+    @Query(value = "SELECT g.goal_id AS \"goalId\", g.goal_name AS \"goalName\", g.date AS \"date\", g.kcal AS \"kcal\", " +
+            "COUNT(gw.workout_id) AS \"workoutCount\", COALESCE(SUM(wk.kcal), 0) AS \"exerciseKcal\", " +
+            "COALESCE(SUM(w.time), 0) AS \"minutes\" FROM goal g " +
+            "LEFT JOIN goal_workout gw ON gw.goal_id = g.goal_id " +
+            "LEFT JOIN workout w ON w.workout_id = gw.workout_id " +
+            "LEFT JOIN (SELECT we.workout_id, SUM(e.kcal) AS kcal FROM workout_exercise we " +
+            "JOIN exercise e ON e.exercise_id = we.exercise_id GROUP BY we.workout_id) wk ON wk.workout_id = gw.workout_id " +
+            "WHERE g.user_id = :userId GROUP BY g.goal_id ORDER BY g.date", nativeQuery = true)
+    List<GoalSummary> summarizeGoalsByUserId(@Param("userId") Integer userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO goal_workout (goal_id, workout_id) SELECT :goalId, w.workout_id FROM workout w " +
+            "WHERE w.workout_id IN (:workoutIds) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int addWorkouts(@Param("goalId") Integer goalId, @Param("workoutIds") Collection<Integer> workoutIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM goal_workout WHERE goal_id = :goalId AND workout_id IN (:workoutIds)", nativeQuery = true)
+    int removeWorkouts(@Param("goalId") Integer goalId, @Param("workoutIds") Collection<Integer> workoutIds);
+
+    @Modifying
+    @Query("UPDATE Goal g SET g.kcal = g.kcal - :kcal WHERE g.goalId = :goalId")
+    int subtractKcal(@Param("goalId") Integer goalId, @Param("kcal") long kcal);
+
+    @Query("SELECT g.userId FROM Goal g WHERE g.goalId = :goalId")
+    Integer findUserIdByGoalId(@Param("goalId") Integer goalId);
+
+    @Query("SELECT g.kcal FROM Goal g WHERE g.goalId = :goalId")
+    Integer findKcalByGoalId(@Param("goalId") Integer goalId);
 }
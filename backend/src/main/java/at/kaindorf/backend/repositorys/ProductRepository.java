@@ -1,14 +1,65 @@
 package at.kaindorf.backend.repositorys;
 
-import at.kaindorf.backend.pojos.Goal;
 import at.kaindorf.backend.pojos.Product;
-import lombok.NonNull;
+import at.kaindorf.backend.pojos.ProductCatalogRow;
+import at.kaindorf.backend.pojos.ProductSummary;
+import at.kaindorf.backend.pojos.RankedBarcode;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
-    Page<Product> findByProductNameContainingIgnoreCase(String productName, Pageable pageable);
+    @Transactional(readOnly = true)
+    <T> Page<T> findByProductNameContainingIgnoreCase(String productName, Pageable pageable, Class<T> type);
+
+    @Transactional(readOnly = true)
+    <T> Slice<T> findByProductNameContainingIgnoreCaseAndBarcodeGreaterThanOrderByBarcodeAsc(String productName, Long barcode, Pageable pageable, Class<T> type);
+
+    @Query("SELECT new at.kaindorf.backend.pojos.ProductSummary(p.barcode, p.productName, p.kcal_100g, p.originCountry) " +
+            "FROM Product p WHERE p.barcode IN :barcodes")
+    @Transactional(readOnly = true)
+    List<ProductSummary> findSummariesByBarcodeIn(@Param("barcodes") Collection<Long> barcodes);
+
+    @Query(value = "SELECT p.barcode FROM product p " +
+            "WHERE p.product_name ILIKE :pattern OR p.search_vector @@ websearch_to_tsquery('simple', :name) " +
+            "ORDER BY similarity(p.product_name, :name) DESC, " +
+            "ts_rank(p.search_vector, websearch_to_tsquery('simple', :name)) DESC, p.barcode",
+            countQuery = "SELECT count(*) FROM product p " +
+                    "WHERE p.product_name ILIKE :pattern OR p.search_vector @@ websearch_to_tsquery('simple', :name)",
+            nativeQuery = true)
+    @Transactional(readOnly = true)
+    Page<Long> searchRankedByName(@Param("name") String name, @Param("pattern") String pattern, Pageable pageable);
+
+    @Query(value = "SELECT r.barcode, r.similarity, r.rank FROM (" +
+            "SELECT p.barcode, similarity(p.product_name, :name) AS similarity, " +
+            "ts_rank(p.search_vector, websearch_to_tsquery('simple', :name)) AS rank FROM product p " +
+            "WHERE p.product_name ILIKE :pattern OR p.search_vector @@ websearch_to_tsquery('simple', :name)) r " +
+            "WHERE (r.similarity, r.rank, r.barcode) < (CAST(:similarity AS real), CAST(:rank AS real), :barcode) " +
+            "ORDER BY r.similarity DESC, r.rank DESC, r.barcode DESC LIMIT :limit",
+            nativeQuery = true)
+    @Transactional(readOnly = true)
+    List<RankedBarcode> searchRankedByNameAfter(@Param("name") String name, @Param("pattern") String pattern,
+                                                @Param("similarity") float similarity, @Param("rank") float rank,
+                                                @Param("barcode") long barcode, @Param("limit") int limit);
+
+    @Query("SELECT new at.kaindorf.backend.pojos.ProductCatalogRow(p.barcode, p.productName, p.kcal_100g, p.originCountry, p.ingredients, p.popularity) " +
+            "FROM Product p ORDER BY p.barcode")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "10000"))
+    Stream<ProductCatalogRow> streamCatalogRows();
+
+    // per Trigger bei jeder Änderung an product erhöht (V9__catalog_version.sql)
+    @Query(value = "SELECT version FROM catalog_version WHERE id = 1", nativeQuery = true)
+    long catalogVersion();
 }
@@ -1,19 +1,21 @@
 package at.kaindorf.backend.repositorys;
 
-import at.kaindorf.backend.pojos.Member;
 import at.kaindorf.backend.pojos.Workout;
+import at.kaindorf.backend.pojos.WorkoutExerciseRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface WorkoutRepository extends JpaRepository<Workout, Integer> {
 
-    @Query("SELECT w FROM Workout w")
+    @Query("SELECT DISTINCT w FROM Workout w LEFT JOIN FETCH w.exercises")
     List<Workout> getAllWorkouts();
 
-    @Query("SELECT w FROM Workout w WHERE w.workoutName = ?1")
+    @Query("SELECT w FROM Workout w LEFT JOIN FETCH w.exercises WHERE w.workoutName = ?1")
     Workout getWorkoutByWorkoutName(String workoutName);
 
     @Query("SELECT w FROM Workout w LEFT JOIN FETCH w.exercises WHERE w.workoutName = ?1")
@@ -22,4 +24,10 @@ public interface WorkoutRepository extends JpaRepository<Workout, Integer> {
     @Query("SELECT w FROM Workout w LEFT JOIN FETCH w.exercises WHERE w.workoutId = ?1")
     Workout getWorkoutWithExercisesByWorkoutId(@Param("id") Integer id);
 
+    @Query("SELECT w.workoutId FROM Workout w WHERE w.workoutId IN :ids")
+    Set<Integer> findExistingWorkoutIds(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT new at.kaindorf.backend.pojos.WorkoutExerciseRow(w.workoutId, w.workoutName, w.time, e.kcal, e.exerciseLevel) " +
+            "FROM Workout w LEFT JOIN w.exercises e ORDER BY w.workoutId")
+    List<WorkoutExerciseRow> getWorkoutExerciseRows();
 }
@@ -0,0 +1,195 @@
+package at.kaindorf.backend.search;
+
+import at.kaindorf.backend.pojos.ProductSummary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+public final class CatalogSnapshot {
+    static final int MAGIC = 0x46324353;
+    static final int VERSION = 3;
+    static final int SECTIONS = 10;
+    static final int HEADER_BYTES = 32 + SECTIONS * 16;
+
+    static final int BARCODES = 0;
+    static final int KCAL = 1;
+    static final int POPULARITY = 2;
+    static final int NAME_OFFSETS = 3;
+    static final int NAME_BYTES = 4;
+    static final int COUNTRY_IDS = 5;
+    static final int COUNTRY_OFFSETS = 6;
+    static final int COUNTRY_BYTES = 7;
+    static final int INGREDIENT_OFFSETS = 8;
+    static final int INGREDIENT_BYTES = 9;
+
+    private final Path file;
+    private final long fileSize;
+    private final long createdAt;
+    private final long catalogVersion;
+    private final int rows;
+    private final LongBuffer barcodes;
+    private final IntBuffer kcal;
+    private final IntBuffer popularity;
+    private final IntBuffer nameOffsets;
+    private final ByteBuffer names;
+    private final IntBuffer countryIds;
+    private final String[] countries;
+    private final IntBuffer ingredientOffsets;
+    private final ByteBuffer ingredients;
+
+    private CatalogSnapshot(Path file, long fileSize, long createdAt, long catalogVersion, int rows, MappedByteBuffer[] sections) {
+        this.file = file;
+        this.fileSize = fileSize;
+        this.createdAt = createdAt;
+        this.catalogVersion = catalogVersion;
+        this.rows = rows;
+        this.barcodes = sections[BARCODES].asLongBuffer();
+        this.kcal = sections[KCAL].asIntBuffer();
+        this.popularity = sections[POPULARITY].asIntBuffer();
+        this.nameOffsets = sections[NAME_OFFSETS].asIntBuffer();
+        this.names = sections[NAME_BYTES];
+        this.countryIds = sections[COUNTRY_IDS].asIntBuffer();
+        this.ingredientOffsets = sections[INGREDIENT_OFFSETS].asIntBuffer();
+        this.ingredients = sections[INGREDIENT_BYTES];
+
+        IntBuffer countryOffsets = sections[COUNTRY_OFFSETS].asIntBuffer();
+        ByteBuffer countryBytes = sections[COUNTRY_BYTES];
+        this.countries = new String[countryOffsets.limit() - 1];
+        for (int i = 0; i < countries.length; i++) {
+            countries[i] = decode(countryBytes, countryOffsets.get(i), countryOffsets.get(i + 1));
+        }
+    }
+
+    public static CatalogSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            if (channel.read(header, 0) < HEADER_BYTES) {
+                throw new IOException("Snapshot " + file + " ist unvollständig");
+            }
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException(file + " ist kein Produktkatalog-Snapshot");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Snapshot-Version " + version + " wird nicht unterstützt");
+            }
+            int rows = header.getInt();
+            header.getInt();
+            long createdAt = header.getLong();
+            long catalogVersion = header.getLong();
+
+            MappedByteBuffer[] sections = new MappedByteBuffer[SECTIONS];
+            for (int i = 0; i < SECTIONS; i++) {
+                long offset = header.getLong();
+                long length = header.getLong();
+                if (offset < HEADER_BYTES || length < 0 || length > Integer.MAX_VALUE || offset + length > fileSize) {
+                    throw new IOException("Snapshot " + file + " hat einen ungültigen Abschnitt " + i);
+                }
+                sections[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            }
+
+            CatalogSnapshot snapshot = new CatalogSnapshot(file, fileSize, createdAt, catalogVersion, rows, sections);
+            snapshot.validate();
+            return snapshot;
+        }
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    public long createdAt() {
+        return createdAt;
+    }
+
+    public long catalogVersion() {
+        return catalogVersion;
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public long fileSize() {
+        return fileSize;
+    }
+
+    public long barcode(int row) {
+        return barcodes.get(row);
+    }
+
+    public int kcal(int row) {
+        return kcal.get(row);
+    }
+
+    public int popularity(int row) {
+        return popularity.get(row);
+    }
+
+    public String name(int row) {
+        return decode(names, nameOffsets.get(row), nameOffsets.get(row + 1));
+    }
+
+    public String country(int row) {
+        return countries[countryIds.get(row)];
+    }
+
+    public String ingredients(int row) {
+        return decode(ingredients, ingredientOffsets.get(row), ingredientOffsets.get(row + 1));
+    }
+
+    public long lastBarcode() {
+        return rows == 0 ? -1 : barcodes.get(rows - 1);
+    }
+
+    public ProductSummary summary(int row) {
+        return new ProductSummary(barcode(row), name(row), kcal(row), country(row));
+    }
+
+    public int rowOf(long barcode) {
+        int lo = 0;
+        int hi = rows - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long value = barcodes.get(mid);
+            if (value < barcode) {
+                lo = mid + 1;
+            } else if (value > barcode) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public Optional<ProductSummary> find(long barcode) {
+        int row = rowOf(barcode);
+        return row < 0 ? Optional.empty() : Optional.of(summary(row));
+    }
+
+    private void validate() throws IOException {
+        if (barcodes.limit() != rows || kcal.limit() != rows || popularity.limit() != rows
+                || countryIds.limit() != rows || nameOffsets.limit() != rows + 1
+                || nameOffsets.get(rows) != names.limit()
+                || ingredientOffsets.limit() != rows + 1 || ingredientOffsets.get(rows) != ingredients.limit()) {
+            throw new IOException("Snapshot " + file + " hat inkonsistente Spalten");
+        }
+    }
+
+    private static String decode(ByteBuffer bytes, int from, int to) {
+        byte[] value = new byte[to - from];
+        bytes.get(from, value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,4 @@
+package at.kaindorf.backend.search;
+
+public record CatalogSnapshotLoadedEvent(CatalogSnapshot snapshot) {
+}
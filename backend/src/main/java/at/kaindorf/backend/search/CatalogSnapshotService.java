@@ -0,0 +1,224 @@
+package at.kaindorf.backend.search;
+
+import at.kaindorf.backend.pojos.ProductCatalogRow;
+import at.kaindorf.backend.repositorys.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class CatalogSnapshotService {
+    private final ProductRepository productRepository;
+    private final TransactionTemplate primaryTransaction;
+    private final TransactionTemplate consistentTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path file;
+    private final ExecutorService regenerator = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long maxPendingChanges;
+    private final AtomicLong changesSinceSnapshot = new AtomicLong();
+    private final AtomicBoolean regenerationQueued = new AtomicBoolean();
+    private volatile CatalogSnapshot snapshot;
+
+    public CatalogSnapshotService(ProductRepository productRepository, PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${product.snapshot.file:product-catalog.snap}") Path file,
+                                  @Value("${product.snapshot.max-pending-changes:50000}") long maxPendingChanges,
+                                  MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        // nicht read-only: nach einem Import muss die Primary gelesen werden, nicht eine nachhinkende Replica
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        // Version und Zeilen müssen aus demselben Datenbank-Snapshot stammen
+        this.consistentTransaction = new TransactionTemplate(transactionManager);
+        this.consistentTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.eventPublisher = eventPublisher;
+        this.file = file;
+        this.maxPendingChanges = maxPendingChanges;
+        Gauge.builder("product.snapshot.rows", this, service -> service.current().map(CatalogSnapshot::size).orElse(0))
+                .register(meterRegistry);
+        Gauge.builder("product.snapshot.size", this, service -> service.current().map(CatalogSnapshot::fileSize).orElse(0L))
+                .baseUnit("bytes").register(meterRegistry);
+    }
+
+    public Optional<CatalogSnapshot> current() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        if (snapshot != null) {
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            List<Path> versions = versions();
+            if (versions.isEmpty()) {
+                throw new NoSuchFileException(file.toString());
+            }
+            CatalogSnapshot opened = CatalogSnapshot.open(versions.get(0));
+            Long catalogVersion = primaryTransaction.execute(status -> productRepository.catalogVersion());
+            if (catalogVersion == null || opened.catalogVersion() != catalogVersion) {
+                log.warn("Produktkatalog-Snapshot " + opened.file() + " passt nicht zur Produkttabelle (Katalogversion "
+                        + opened.catalogVersion() + " statt " + catalogVersion + "), wird neu erzeugt");
+                regenerate();
+                return;
+            }
+            log.info("Produktkatalog-Snapshot mit " + opened.size() + " Produkten in "
+                    + (System.nanoTime() - started) / 1_000_000 + " ms eingeblendet");
+            swap(opened);
+        } catch (NoSuchFileException e) {
+            log.info("Kein Produktkatalog-Snapshot unter " + file.toAbsolutePath() + " vorhanden, wird erzeugt");
+            regenerate();
+        } catch (IOException e) {
+            log.warn("Produktkatalog-Snapshot " + file.toAbsolutePath() + " ist unbrauchbar, wird neu erzeugt: " + e.getMessage());
+            regenerate();
+        }
+    }
+
+    @EventListener(ProductCatalogImportedEvent.class)
+    public void catalogImported() {
+        regenerator.execute(this::regenerate);
+    }
+
+    // Suche und Produkt-Lookup merken sich jede Änderung seit dem Snapshot, ab einer Grenze wird neu erzeugt,
+    // damit diese Listen z.B. während eines API-Imports nicht unbegrenzt wachsen
+    @TransactionalEventListener(fallbackExecution = true)
+    public void productChanged(ProductChangedEvent event) {
+        changed();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void productRemoved(ProductRemovedEvent event) {
+        changed();
+    }
+
+    private void changed() {
+        if (changesSinceSnapshot.incrementAndGet() >= maxPendingChanges && regenerationQueued.compareAndSet(false, true)) {
+            log.info("Mehr als " + maxPendingChanges + " Produktänderungen seit dem letzten Snapshot, wird neu erzeugt");
+            regenerator.execute(() -> {
+                regenerationQueued.set(false);
+                regenerate();
+            });
+        }
+    }
+
+    public synchronized void regenerate() {
+        long started = System.nanoTime();
+        changesSinceSnapshot.set(0);
+        Path target;
+        try {
+            target = nextVersion();
+        } catch (IOException e) {
+            log.error("Produktkatalog-Snapshot konnte nicht erzeugt werden", e);
+            return;
+        }
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(target)) {
+            consistentTransaction.executeWithoutResult(status -> {
+                writer.setCatalogVersion(productRepository.catalogVersion());
+                try (Stream<ProductCatalogRow> rows = productRepository.streamCatalogRows()) {
+                    for (Iterator<ProductCatalogRow> it = rows.iterator(); it.hasNext(); ) {
+                        writer.add(it.next());
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.commit();
+            CatalogSnapshot written = CatalogSnapshot.open(target);
+            log.info("Produktkatalog-Snapshot mit " + written.size() + " Produkten (" + written.fileSize() / 1024
+                    + " KiB) in " + (System.nanoTime() - started) / 1_000_000 + " ms erzeugt");
+            swap(written);
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Produktkatalog-Snapshot konnte nicht erzeugt werden", e);
+        }
+    }
+
+    private void swap(CatalogSnapshot next) {
+        snapshot = next;
+        eventPublisher.publishEvent(new CatalogSnapshotLoadedEvent(next));
+        deleteOlderVersions(next.file());
+    }
+
+    List<Path> versions() throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(candidate -> version(candidate) >= 0)
+                    .sorted(Comparator.comparingLong(this::version).reversed())
+                    .toList();
+        }
+    }
+
+    private Path nextVersion() throws IOException {
+        List<Path> versions = versions();
+        long latest = versions.isEmpty() ? 0 : version(versions.get(0));
+        return file.toAbsolutePath().resolveSibling(file.getFileName() + "." + Math.max(System.currentTimeMillis(), latest + 1));
+    }
+
+    private long version(Path candidate) {
+        String name = candidate.getFileName().toString();
+        String prefix = file.getFileName() + ".";
+        if (!name.startsWith(prefix) || name.length() == prefix.length() || name.length() - prefix.length() > 18) {
+            return -1;
+        }
+        for (int i = prefix.length(); i < name.length(); i++) {
+            if (!Character.isDigit(name.charAt(i))) {
+                return -1;
+            }
+        }
+        return Long.parseLong(name.substring(prefix.length()));
+    }
+
+    private void deleteOlderVersions(Path current) {
+        try {
+            for (Path version : versions()) {
+                if (!version.equals(current)) {
+                    try {
+                        Files.deleteIfExists(version);
+                    } catch (IOException e) {
+                        // unter Windows noch eingeblendet, wird beim nächsten Tausch erneut versucht
+                        log.debug("Alter Produktkatalog-Snapshot " + version + " konnte nicht gelöscht werden: " + e.getMessage());
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Alte Produktkatalog-Snapshots konnten nicht aufgeräumt werden: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        regenerator.shutdownNow();
+    }
+}
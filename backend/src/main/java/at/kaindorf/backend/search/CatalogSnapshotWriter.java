@@ -0,0 +1,171 @@
+package at.kaindorf.backend.search;
+
+import at.kaindorf.backend.pojos.ProductCatalogRow;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static at.kaindorf.backend.search.CatalogSnapshot.*;
+
+public class CatalogSnapshotWriter implements AutoCloseable {
+    private final Path target;
+    private final Path workDirectory;
+    private final Path[] columnFiles = new Path[SECTIONS];
+    private final DataOutputStream[] columns = new DataOutputStream[SECTIONS];
+    private final Map<String, Integer> countryIds = new HashMap<>();
+    private final List<byte[]> countries = new ArrayList<>();
+    private final long createdAt = System.currentTimeMillis();
+    private long catalogVersion;
+    private int rows;
+    private long nameBytes;
+    private long ingredientBytes;
+    private long lastBarcode = Long.MIN_VALUE;
+    private boolean committed;
+
+    public CatalogSnapshotWriter(Path target) throws IOException {
+        this.target = target.toAbsolutePath();
+        Files.createDirectories(this.target.getParent());
+        this.workDirectory = Files.createTempDirectory(this.target.getParent(), "snapshot-");
+        for (int section : new int[]{BARCODES, KCAL, POPULARITY, NAME_OFFSETS, NAME_BYTES, COUNTRY_IDS,
+                INGREDIENT_OFFSETS, INGREDIENT_BYTES}) {
+            columnFiles[section] = workDirectory.resolve("column-" + section);
+            columns[section] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(columnFiles[section]), 1 << 16));
+        }
+        columns[NAME_OFFSETS].writeInt(0);
+        columns[INGREDIENT_OFFSETS].writeInt(0);
+    }
+
+    public void add(ProductCatalogRow row) throws IOException {
+        if (row.barcode() <= lastBarcode) {
+            throw new IllegalArgumentException("Barcodes müssen aufsteigend sortiert sein: " + row.barcode());
+        }
+        byte[] name = row.productName() == null ? new byte[0] : row.productName().getBytes(StandardCharsets.UTF_8);
+        nameBytes += name.length;
+        if (nameBytes > Integer.MAX_VALUE) {
+            throw new IOException("Produktnamen überschreiten die maximale Spaltengröße");
+        }
+        byte[] ingredients = row.ingredients() == null ? new byte[0] : row.ingredients().getBytes(StandardCharsets.UTF_8);
+        ingredientBytes += ingredients.length;
+        if (ingredientBytes > Integer.MAX_VALUE) {
+            throw new IOException("Zutaten überschreiten die maximale Spaltengröße");
+        }
+
+        columns[BARCODES].writeLong(row.barcode());
+        columns[KCAL].writeInt(row.kcal_100g() == null ? 0 : row.kcal_100g());
+        columns[POPULARITY].writeInt(row.popularity() == null ? 0 : row.popularity());
+        columns[NAME_BYTES].write(name);
+        columns[NAME_OFFSETS].writeInt((int) nameBytes);
+        columns[INGREDIENT_BYTES].write(ingredients);
+        columns[INGREDIENT_OFFSETS].writeInt((int) ingredientBytes);
+        columns[COUNTRY_IDS].writeInt(countryIds.computeIfAbsent(row.originCountry() == null ? "" : row.originCountry(), country -> {
+            countries.add(country.getBytes(StandardCharsets.UTF_8));
+            return countries.size() - 1;
+        }));
+        lastBarcode = row.barcode();
+        rows++;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public long createdAt() {
+        return createdAt;
+    }
+
+    // Stand der Tabelle catalog_version, aus dem die Zeilen gelesen wurden
+    public void setCatalogVersion(long catalogVersion) {
+        this.catalogVersion = catalogVersion;
+    }
+
+    public void commit() throws IOException {
+        for (DataOutputStream column : columns) {
+            if (column != null) {
+                column.close();
+            }
+        }
+        writeCountryDictionary();
+
+        Path temporary = workDirectory.resolve("snapshot");
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(countries.size()).putLong(createdAt).putLong(catalogVersion);
+            long offset = HEADER_BYTES;
+            for (Path columnFile : columnFiles) {
+                long length = Files.size(columnFile);
+                header.putLong(offset).putLong(length);
+                offset = align(offset + length);
+            }
+            header.flip();
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+
+            offset = HEADER_BYTES;
+            for (Path columnFile : columnFiles) {
+                try (FileChannel in = FileChannel.open(columnFile, StandardOpenOption.READ)) {
+                    long length = in.size();
+                    long copied = 0;
+                    while (copied < length) {
+                        copied += in.transferTo(copied, length - copied, out.position(offset + copied));
+                    }
+                    offset = align(offset + length);
+                }
+            }
+            if (out.size() < offset) {
+                out.write(ByteBuffer.allocate((int) (offset - out.size())), out.size());
+            }
+            out.force(true);
+        }
+        // nie über eine bestehende Datei verschieben: die kann noch eingeblendet sein (unter Windows schlägt das fehl)
+        Files.move(temporary, target);
+        committed = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!committed) {
+            for (DataOutputStream column : columns) {
+                if (column != null) {
+                    column.close();
+                }
+            }
+        }
+        try (var files = Files.list(workDirectory)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(workDirectory);
+    }
+
+    private void writeCountryDictionary() throws IOException {
+        columnFiles[COUNTRY_OFFSETS] = workDirectory.resolve("column-" + COUNTRY_OFFSETS);
+        columnFiles[COUNTRY_BYTES] = workDirectory.resolve("column-" + COUNTRY_BYTES);
+        try (DataOutputStream offsets = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(columnFiles[COUNTRY_OFFSETS])));
+             DataOutputStream bytes = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(columnFiles[COUNTRY_BYTES])))) {
+            int offset = 0;
+            offsets.writeInt(offset);
+            for (byte[] country : countries) {
+                bytes.write(country);
+                offset += country.length;
+                offsets.writeInt(offset);
+            }
+        }
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+}
@@ -0,0 +1,35 @@
+package at.kaindorf.backend.search;
+
+import at.kaindorf.backend.pojos.ProductSummary;
+import at.kaindorf.backend.repositorys.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "product.search.mode", havingValue = "database")
+@RequiredArgsConstructor
+public class DatabaseProductSearch implements ProductSearch {
+    private final ProductRepository productRepository;
+
+    @Override
+    public Page<ProductSummary> searchByName(String productName, Pageable pageable) {
+        return productRepository.findByProductNameContainingIgnoreCase(productName, pageable, ProductSummary.class);
+    }
+
+    @Override
+    public ProductSlice searchByNameAfter(String productName, String after, int size) {
+        long afterBarcode = after == null ? Long.MIN_VALUE : Long.parseLong(SearchCursor.decode(after, "d", 1)[0]);
+        Slice<ProductSummary> slice = productRepository.findByProductNameContainingIgnoreCaseAndBarcodeGreaterThanOrderByBarcodeAsc(
+                productName, afterBarcode, PageRequest.ofSize(size), ProductSummary.class);
+        List<ProductSummary> content = slice.getContent();
+        String next = slice.hasNext() ? SearchCursor.encode("d", content.get(content.size() - 1).barcode()) : null;
+        return new ProductSlice(content, next, slice.hasNext());
+    }
+}
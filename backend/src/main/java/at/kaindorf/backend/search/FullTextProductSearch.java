@@ -0,0 +1,58 @@
+package at.kaindorf.backend.search;
+
+import at.kaindorf.backend.pojos.ProductSummary;
+import at.kaindorf.backend.pojos.RankedBarcode;
+import at.kaindorf.backend.repositorys.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "product.search.mode", havingValue = "fulltext")
+@RequiredArgsConstructor
+public class FullTextProductSearch implements ProductSearch {
+    private final ProductRepository productRepository;
+
+    @Override
+    public Page<ProductSummary> searchByName(String productName, Pageable pageable) {
+        String pattern = "%" + escapeLike(productName) + "%";
+        Page<Long> barcodes = productRepository.searchRankedByName(productName, pattern,
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        return new PageImpl<>(ProductLoader.loadInOrder(productRepository, barcodes.getContent()), pageable, barcodes.getTotalElements());
+    }
+
+    @Override
+    public ProductSlice searchByNameAfter(String productName, String after, int size) {
+        float similarity = Float.MAX_VALUE;
+        float rank = Float.MAX_VALUE;
+        long barcode = Long.MAX_VALUE;
+        if (after != null) {
+            String[] cursor = SearchCursor.decode(after, "f", 3);
+            similarity = Float.parseFloat(cursor[0]);
+            rank = Float.parseFloat(cursor[1]);
+            barcode = Long.parseLong(cursor[2]);
+        }
+
+        List<RankedBarcode> ranked = productRepository.searchRankedByNameAfter(
+                productName, "%" + escapeLike(productName) + "%", similarity, rank, barcode, size + 1);
+        boolean hasNext = ranked.size() > size;
+        List<RankedBarcode> page = hasNext ? ranked.subList(0, size) : ranked;
+        String next = null;
+        if (hasNext) {
+            RankedBarcode last = page.get(page.size() - 1);
+            next = SearchCursor.encode("f", last.getSimilarity(), last.getRank(), last.getBarcode());
+        }
+        List<Long> barcodes = page.stream().map(RankedBarcode::getBarcode).toList();
+        return new ProductSlice(ProductLoader.loadInOrder(productRepository, barcodes), next, hasNext);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,179 @@
+package at.kaindorf.backend.search;
+
+import at.kaindorf.backend.pojos.Product;
+import at.kaindorf.backend.pojos.ProductSummary;
+import at.kaindorf.backend.repositorys.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Component
+@ConditionalOnProperty(name = "product.search.mode", havingValue = "memory", matchIfMissing = true)
+@Slf4j
+public class InMemoryProductSearch implements ProductSearch {
+    private final DatabaseProductSearch database;
+    // Änderungen seit dem letzten Snapshot, werden nach einem Neuaufbau nachgespielt; null = gelöscht
+    private final Map<Long, PendingChange> changes = new HashMap<>();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-index-compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile TrigramIndex index;
+    // Änderungen, die während einer laufenden Verdichtung am alten Index ankommen; null = keine Verdichtung
+    private List<Change> compactionBacklog;
+
+    public InMemoryProductSearch(ProductRepository productRepository) {
+        this.database = new DatabaseProductSearch(productRepository);
+    }
+
+    @Override
+    public Page<ProductSummary> searchByName(String productName, Pageable pageable) {
+        TrigramIndex current = index;
+        // kürzere Suchbegriffe als ein Trigramm beantwortet die Datenbank, wie vor dem Index
+        if (current == null || tooShortForIndex(productName)) {
+            return database.searchByName(productName, pageable);
+        }
+
+        TrigramIndex.SearchResult result = current.search(productName, (int) pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(result.products(), pageable, result.total());
+    }
+
+    @Override
+    public ProductSlice searchByNameAfter(String productName, String after, int size) {
+        TrigramIndex current = index;
+        // ohne Index und für bereits in die Datenbank gewechselte Cursor gilt die Barcode-Reihenfolge der Datenbank
+        if (current == null || tooShortForIndex(productName) || (after != null && SearchCursor.hasMode(after, "d"))) {
+            return database.searchByNameAfter(productName, after, size);
+        }
+
+        int afterDocument = -1;
+        if (after != null) {
+            String[] cursor = SearchCursor.decode(after, "m", 3);
+            long barcode = Long.parseLong(cursor[2]);
+            afterDocument = Long.parseLong(cursor[0]) == current.generation()
+                    ? Integer.parseInt(cursor[1])
+                    : current.documentOf(barcode);
+            if (afterDocument < 0) {
+                log.debug("Cursor-Produkt " + barcode + " ist nicht mehr im Index, weiter über die Datenbank");
+                return database.searchByNameAfter(productName, SearchCursor.encode("d", barcode), size);
+            }
+        }
+
+        TrigramIndex.KeysetResult result = current.searchAfter(productName, afterDocument, size);
+        List<ProductSummary> products = result.products();
+        String next = result.hasNext()
+                ? SearchCursor.encode("m", current.generation(), result.lastDocument(), products.get(products.size() - 1).barcode())
+                : null;
+        return new ProductSlice(products, next, result.hasNext());
+    }
+
+    private static boolean tooShortForIndex(String productName) {
+        return productName.strip().length() < ProductSearch.MIN_QUERY_LENGTH;
+    }
+
+    @EventListener
+    public void rebuild(CatalogSnapshotLoadedEvent event) {
+        long started = System.nanoTime();
+        CatalogSnapshot snapshot = event.snapshot();
+        Set<Long> pending;
+        synchronized (this) {
+            changes.values().removeIf(change -> change.changedAt() < snapshot.createdAt());
+            pending = new HashSet<>(changes.keySet());
+        }
+
+        TrigramIndex rebuilt = new TrigramIndex(snapshot.size());
+        for (int row = 0; row < snapshot.size(); row++) {
+            if (pending.isEmpty() || !pending.contains(snapshot.barcode(row))) {
+                rebuilt.add(snapshot.summary(row));
+            }
+        }
+
+        int replayed;
+        synchronized (this) {
+            replayed = changes.size();
+            changes.forEach((barcode, change) -> apply(rebuilt, barcode, change.product()));
+            index = rebuilt;
+        }
+        log.info("Produktindex mit " + rebuilt.size() + " Produkten (" + replayed + " Änderungen nachgespielt) in "
+                + (System.nanoTime() - started) / 1_000_000 + " ms aufgebaut");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void productChanged(ProductChangedEvent event) {
+        Product product = event.product();
+        changed(product.getBarcode(), new ProductSummary(product.getBarcode(), product.getProductName(),
+                product.getKcal_100g(), product.getOriginCountry()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void productRemoved(ProductRemovedEvent event) {
+        changed(event.barcode(), null);
+    }
+
+    private synchronized void changed(long barcode, ProductSummary product) {
+        changes.put(barcode, new PendingChange(System.currentTimeMillis(), product));
+        TrigramIndex current = index;
+        if (current == null) {
+            return;
+        }
+        apply(current, barcode, product);
+        if (compactionBacklog != null) {
+            compactionBacklog.add(new Change(barcode, product));
+        } else if (current.deletedCount() > Math.max(1024, current.size() / 4)) {
+            compactionBacklog = new ArrayList<>();
+            compactor.execute(() -> compact(current));
+        }
+    }
+
+    private void compact(TrigramIndex source) {
+        long started = System.nanoTime();
+        TrigramIndex compacted = source.compacted();
+        synchronized (this) {
+            List<Change> backlog = compactionBacklog;
+            compactionBacklog = null;
+            // ein Neuaufbau aus einem Snapshot hat den Index inzwischen ersetzt
+            if (index != source) {
+                return;
+            }
+            backlog.forEach(change -> apply(compacted, change.barcode(), change.product()));
+            index = compacted;
+        }
+        log.info("Produktindex mit " + source.deletedCount() + " veralteten Einträgen in "
+                + (System.nanoTime() - started) / 1_000_000 + " ms verdichtet");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        compactor.shutdownNow();
+    }
+
+    private static void apply(TrigramIndex target, long barcode, ProductSummary product) {
+        if (product == null) {
+            target.remove(barcode);
+        } else {
+            target.add(product);
+        }
+    }
+
+    private record PendingChange(long changedAt, ProductSummary product) {
+    }
+
+    private record Change(long barcode, ProductSummary product) {
+    }
+}
@@ -0,0 +1,195 @@
+package at.kaindorf.backend.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+public class PrefixSuggester {
+    private final byte[] keys;
+    private final int[] keyOffsets;
+    private final byte[] names;
+    private final int[] nameOffsets;
+    private final long[] barcodes;
+    private final long[] scores;
+    private final int[] bestInRange;
+    private final int leaves;
+
+    private PrefixSuggester(byte[] keys, int[] keyOffsets, byte[] names, int[] nameOffsets, long[] barcodes, long[] scores) {
+        this.keys = keys;
+        this.keyOffsets = keyOffsets;
+        this.names = names;
+        this.nameOffsets = nameOffsets;
+        this.barcodes = barcodes;
+        this.scores = scores;
+        this.leaves = Math.max(1, Integer.highestOneBit(Math.max(1, barcodes.length - 1)) << 1);
+        this.bestInRange = new int[leaves * 2];
+        Arrays.fill(bestInRange, -1);
+        for (int i = 0; i < barcodes.length; i++) {
+            bestInRange[leaves + i] = i;
+        }
+        for (int node = leaves - 1; node > 0; node--) {
+            bestInRange[node] = better(bestInRange[node * 2], bestInRange[node * 2 + 1]);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return barcodes.length;
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        byte[] needle = normalize(prefix).getBytes(StandardCharsets.UTF_8);
+        int from = lowerBound(needle, false);
+        int to = lowerBound(needle, true);
+        if (from >= to || limit <= 0) {
+            return List.of();
+        }
+
+        List<Suggestion> result = new ArrayList<>(Math.min(limit, to - from));
+
+        PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> better(a[2], b[2]) == a[2] ? -1 : 1);
+        ranges.add(new int[]{from, to, best(from, to)});
+        while (!ranges.isEmpty() && result.size() < limit) {
+            int[] range = ranges.poll();
+            int entry = range[2];
+            result.add(new Suggestion(barcodes[entry], new String(names, nameOffsets[entry], nameOffsets[entry + 1] - nameOffsets[entry], StandardCharsets.UTF_8), scores[entry]));
+            if (range[0] < entry) {
+                ranges.add(new int[]{range[0], entry, best(range[0], entry)});
+            }
+            if (entry + 1 < range[1]) {
+                ranges.add(new int[]{entry + 1, range[1], best(entry + 1, range[1])});
+            }
+        }
+        return result;
+    }
+
+    private int best(int from, int to) {
+        int best = -1;
+        for (int lo = from + leaves, hi = to + leaves; lo < hi; lo >>= 1, hi >>= 1) {
+            if ((lo & 1) == 1) {
+                best = better(best, bestInRange[lo++]);
+            }
+            if ((hi & 1) == 1) {
+                best = better(best, bestInRange[--hi]);
+            }
+        }
+        return best;
+    }
+
+    private int better(int a, int b) {
+        if (a < 0) {
+            return b;
+        }
+        if (b < 0) {
+            return a;
+        }
+        if (scores[a] != scores[b]) {
+            return scores[a] > scores[b] ? a : b;
+        }
+        return Math.min(a, b);
+    }
+
+    private int lowerBound(byte[] prefix, boolean pastPrefix) {
+        int lo = 0;
+        int hi = barcodes.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = compareToPrefix(mid, prefix);
+            if (cmp < 0 || (pastPrefix && cmp == 0)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int compareToPrefix(int entry, byte[] prefix) {
+        int start = keyOffsets[entry];
+        int length = keyOffsets[entry + 1] - start;
+        int common = Math.min(length, prefix.length);
+        int cmp = Arrays.compareUnsigned(keys, start, start + common, prefix, 0, common);
+        if (cmp != 0) {
+            return cmp;
+        }
+        return length >= prefix.length ? 0 : -1;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public record Suggestion(long barcode, String productName, long score) {
+    }
+
+    public static class Builder {
+        private final Map<String, Entry> entries = new HashMap<>();
+
+        public Builder add(long barcode, String productName, int popularity) {
+            String key = normalize(productName);
+            if (key.isEmpty()) {
+                return this;
+            }
+            Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+            entry.score += Math.max(0, popularity) + 1L;
+            if (entry.name == null || popularity > entry.bestPopularity) {
+                entry.name = productName.trim();
+                entry.barcode = barcode;
+                entry.bestPopularity = popularity;
+            }
+            return this;
+        }
+
+        public PrefixSuggester build() {
+            List<KeyedEntry> sorted = new ArrayList<>(entries.size());
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                sorted.add(new KeyedEntry(e.getKey().getBytes(StandardCharsets.UTF_8), e.getValue()));
+            }
+            entries.clear();
+            sorted.sort(Comparator.comparing(KeyedEntry::key, Arrays::compareUnsigned));
+
+            int count = sorted.size();
+            int[] keyOffsets = new int[count + 1];
+            int[] nameOffsets = new int[count + 1];
+            long[] barcodes = new long[count];
+            long[] scores = new long[count];
+            byte[][] nameBytes = new byte[count][];
+            for (int i = 0; i < count; i++) {
+                Entry entry = sorted.get(i).entry();
+                nameBytes[i] = entry.name.getBytes(StandardCharsets.UTF_8);
+                keyOffsets[i + 1] = keyOffsets[i] + sorted.get(i).key().length;
+                nameOffsets[i + 1] = nameOffsets[i] + nameBytes[i].length;
+                barcodes[i] = entry.barcode;
+                scores[i] = entry.score;
+            }
+
+            byte[] keys = new byte[keyOffsets[count]];
+            byte[] names = new byte[nameOffsets[count]];
+            for (int i = 0; i < count; i++) {
+                byte[] key = sorted.get(i).key();
+                System.arraycopy(key, 0, keys, keyOffsets[i], key.length);
+                System.arraycopy(nameBytes[i], 0, names, nameOffsets[i], nameBytes[i].length);
+            }
+            return new PrefixSuggester(keys, keyOffsets, names, nameOffsets, barcodes, scores);
+        }
+
+        private record KeyedEntry(byte[] key, Entry entry) {
+        }
+
+        private static class Entry {
+            private String name;
+            private long barcode;
+            private int bestPopularity;
+            private long score;
+        }
+    }
+}
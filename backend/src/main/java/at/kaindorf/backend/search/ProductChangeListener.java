@@ -0,0 +1,26 @@
+package at.kaindorf.backend.search;
+
+import at.kaindorf.backend.pojos.Product;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ProductChangeListener {
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void productChanged(Product product) {
+        eventPublisher.publishEvent(new ProductChangedEvent(product));
+    }
+
+    @PostRemove
+    public void productRemoved(Product product) {
+        eventPublisher.publishEvent(new ProductRemovedEvent(product.getBarcode()));
+    }
+}
@@ -0,0 +1,6 @@
+package at.kaindorf.backend.search;
+
+import at.kaindorf.backend.pojos.Product;
+
+public record ProductChangedEvent(Product product) {
+}
@@ -0,0 +1,24 @@
+package at.kaindorf.backend.search;
+
+import at.kaindorf.backend.pojos.ProductSummary;
+import at.kaindorf.backend.repositorys.ProductRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+final class ProductLoader {
+    private ProductLoader() {
+    }
+
+    static List<ProductSummary> loadInOrder(ProductRepository productRepository, List<Long> barcodes) {
+        if (barcodes.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProductSummary> products = productRepository.findSummariesByBarcodeIn(barcodes).stream()
+                .collect(Collectors.toMap(ProductSummary::barcode, Function.identity()));
+        return barcodes.stream().map(products::get).filter(Objects::nonNull).toList();
+    }
+}
@@ -0,0 +1,4 @@
+package at.kaindorf.backend.search;
+
+public record ProductRemovedEvent(long barcode) {
+}
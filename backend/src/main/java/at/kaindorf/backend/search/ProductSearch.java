@@ -0,0 +1,13 @@
+package at.kaindorf.backend.search;
+
+import at.kaindorf.backend.pojos.ProductSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface ProductSearch {
+    int MIN_QUERY_LENGTH = 3;
+
+    Page<ProductSummary> searchByName(String productName, Pageable pageable);
+
+    ProductSlice searchByNameAfter(String productName, String after, int size);
+}
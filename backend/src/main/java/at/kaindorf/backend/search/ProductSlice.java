@@ -0,0 +1,8 @@
+package at.kaindorf.backend.search;
+
+import at.kaindorf.backend.pojos.ProductSummary;
+
+import java.util.List;
+
+public record ProductSlice(List<ProductSummary> content, String after, boolean hasNext) {
+}
@@ -0,0 +1,34 @@
+package at.kaindorf.backend.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Slf4j
+public class ProductSuggestService {
+    private volatile PrefixSuggester suggester;
+
+    public List<PrefixSuggester.Suggestion> suggest(String prefix, int limit) {
+        PrefixSuggester current = suggester;
+        if (current == null) {
+            throw new IllegalStateException("Vorschlagsindex wird noch aufgebaut");
+        }
+        return current.suggest(prefix, limit);
+    }
+
+    @EventListener
+    public void rebuild(CatalogSnapshotLoadedEvent event) {
+        long started = System.nanoTime();
+        CatalogSnapshot snapshot = event.snapshot();
+        PrefixSuggester.Builder builder = PrefixSuggester.builder();
+        for (int row = 0; row < snapshot.size(); row++) {
+            builder.add(snapshot.barcode(row), snapshot.name(row), snapshot.popularity(row));
+        }
+        PrefixSuggester rebuilt = builder.build();
+        suggester = rebuilt;
+        log.info("Vorschlagsindex mit " + rebuilt.size() + " Namen in " + (System.nanoTime() - started) / 1_000_000 + " ms aufgebaut");
+    }
+}
@@ -0,0 +1,39 @@
+package at.kaindorf.backend.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public final class SearchCursor {
+    private SearchCursor() {
+    }
+
+    public static String encode(String mode, Object... values) {
+        StringBuilder raw = new StringBuilder(mode);
+        for (Object value : values) {
+            raw.append(':').append(value);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static boolean hasMode(String token, String mode) {
+        return split(token)[0].equals(mode);
+    }
+
+    public static String[] decode(String token, String mode, int valueCount) {
+        String[] parts = split(token);
+        if (parts.length != valueCount + 1 || !parts[0].equals(mode)) {
+            throw new IllegalArgumentException("Ungültiger Cursor " + token);
+        }
+        String[] values = new String[valueCount];
+        System.arraycopy(parts, 1, values, 0, valueCount);
+        return values;
+    }
+
+    private static String[] split(String token) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Ungültiger Cursor " + token, e);
+        }
+    }
+}
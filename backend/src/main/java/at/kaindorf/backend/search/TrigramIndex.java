@@ -0,0 +1,344 @@
+package at.kaindorf.backend.search;
+
+import at.kaindorf.backend.pojos.ProductSummary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class TrigramIndex {
+    private static final AtomicLong GENERATIONS = new AtomicLong(System.currentTimeMillis());
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final long generation = GENERATIONS.incrementAndGet();
+    private final LongIntHashMap postingIds;
+    private final LongIntHashMap documents;
+    private final BitSet deleted = new BitSet();
+    private int[][] postings = new int[1024][];
+    private int[] postingSizes = new int[1024];
+    private int postingCount;
+    private final Map<String, Integer> countryIds = new HashMap<>();
+    private final List<String> countries = new ArrayList<>();
+    private long[] barcodes;
+    private String[] names;
+    private int[] kcal;
+    private int[] countryOf;
+    private int documentCount;
+
+    public TrigramIndex(int expectedDocuments) {
+        int capacity = Math.max(16, expectedDocuments);
+        postingIds = new LongIntHashMap(64 * 1024);
+        documents = new LongIntHashMap(capacity);
+        barcodes = new long[capacity];
+        names = new String[capacity];
+        kcal = new int[capacity];
+        countryOf = new int[capacity];
+    }
+
+    public void add(ProductSummary product) {
+        long barcode = product.barcode();
+        String name = product.productName() == null ? "" : product.productName();
+        String normalized = normalize(name);
+        lock.writeLock().lock();
+        try {
+            int country = countryIds.computeIfAbsent(product.originCountry() == null ? "" : product.originCountry(), c -> {
+                countries.add(c);
+                return countries.size() - 1;
+            });
+            int previous = documents.get(barcode, -1);
+            if (previous >= 0) {
+                if (names[previous].equals(name)) {
+                    kcal[previous] = product.kcal_100g() == null ? 0 : product.kcal_100g();
+                    countryOf[previous] = country;
+                    return;
+                }
+                deleted.set(previous);
+            }
+            if (documentCount == barcodes.length) {
+                barcodes = Arrays.copyOf(barcodes, documentCount * 2);
+                names = Arrays.copyOf(names, documentCount * 2);
+                kcal = Arrays.copyOf(kcal, documentCount * 2);
+                countryOf = Arrays.copyOf(countryOf, documentCount * 2);
+            }
+            int document = documentCount++;
+            barcodes[document] = barcode;
+            names[document] = name;
+            kcal[document] = product.kcal_100g() == null ? 0 : product.kcal_100g();
+            countryOf[document] = country;
+            documents.put(barcode, document);
+            for (int i = 0; i + 3 <= normalized.length(); i++) {
+                addPosting(trigram(normalized, i), document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long barcode) {
+        lock.writeLock().lock();
+        try {
+            int document = documents.remove(barcode, -1);
+            if (document >= 0) {
+                deleted.set(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public TrigramIndex compacted() {
+        lock.readLock().lock();
+        try {
+            TrigramIndex compacted = new TrigramIndex(documents.size());
+            for (int document = 0; document < documentCount; document++) {
+                if (!deleted.get(document)) {
+                    compacted.add(summary(document));
+                }
+            }
+            return compacted;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Geprüft wird nur bis zur Seite plus einem Treffer, danach wird die Gesamtzahl aus der Trefferquote
+    // der bisher geprüften Kandidaten hochgerechnet
+    public SearchResult search(String query, int offset, int limit) {
+        String needle = normalize(query);
+        lock.readLock().lock();
+        try {
+            Candidates candidates = candidates(needle);
+            List<ProductSummary> page = new ArrayList<>(Math.max(0, limit));
+            long wanted = (long) offset + limit;
+            long matched = 0;
+            for (int document = candidates.next(); document >= 0; document = candidates.next()) {
+                if (!matches(document, needle)) {
+                    continue;
+                }
+                if (matched >= offset && page.size() < limit) {
+                    page.add(summary(document));
+                }
+                if (++matched > wanted) {
+                    break;
+                }
+            }
+            if (candidates.remaining() == 0) {
+                return new SearchResult(matched, page, true);
+            }
+            long estimated = matched + Math.round((double) candidates.remaining() * matched / candidates.examined());
+            return new SearchResult(estimated, page, false);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public KeysetResult searchAfter(String query, int afterDocument, int limit) {
+        String needle = normalize(query);
+        lock.readLock().lock();
+        try {
+            Candidates candidates = candidates(needle);
+            candidates.skipPast(afterDocument);
+            List<ProductSummary> page = new ArrayList<>(limit);
+            int lastDocument = afterDocument;
+            for (int document = candidates.next(); document >= 0; document = candidates.next()) {
+                if (!matches(document, needle)) {
+                    continue;
+                }
+                if (page.size() == limit) {
+                    return new KeysetResult(page, lastDocument, true);
+                }
+                page.add(summary(document));
+                lastDocument = document;
+            }
+            return new KeysetResult(page, lastDocument, false);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int documentOf(long barcode) {
+        lock.readLock().lock();
+        try {
+            return documents.get(barcode, -1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long generation() {
+        return generation;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int deletedCount() {
+        lock.readLock().lock();
+        try {
+            return deleted.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Candidates candidates(String needle) {
+        if (needle.length() < ProductSearch.MIN_QUERY_LENGTH) {
+            return new Candidates(new int[0]);
+        }
+        int[] lists = postingListsFor(needle);
+        return new Candidates(lists == null ? new int[0] : lists);
+    }
+
+    private boolean matches(int document, String needle) {
+        if (deleted.get(document)) {
+            return false;
+        }
+        String name = names[document];
+        for (int i = 0; i + needle.length() <= name.length(); i++) {
+            if (name.regionMatches(true, i, needle, 0, needle.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ProductSummary summary(int document) {
+        return new ProductSummary(barcodes[document], names[document], kcal[document], countries.get(countryOf[document]));
+    }
+
+    private int[] postingListsFor(String needle) {
+        int[] lists = new int[needle.length() - 2];
+        for (int i = 0; i < lists.length; i++) {
+            int postingId = postingIds.get(trigram(needle, i), -1);
+            if (postingId < 0) {
+                return null;
+            }
+            lists[i] = postingId;
+        }
+        Arrays.sort(lists);
+        int distinct = 0;
+        for (int i = 0; i < lists.length; i++) {
+            if (i == 0 || lists[i] != lists[i - 1]) {
+                lists[distinct++] = lists[i];
+            }
+        }
+        Integer[] bySize = new Integer[distinct];
+        for (int i = 0; i < distinct; i++) {
+            bySize[i] = lists[i];
+        }
+        Arrays.sort(bySize, (a, b) -> Integer.compare(postingSizes[a], postingSizes[b]));
+        int[] result = new int[distinct];
+        for (int i = 0; i < distinct; i++) {
+            result[i] = bySize[i];
+        }
+        return result;
+    }
+
+    private void addPosting(long trigram, int document) {
+        int postingId = postingIds.get(trigram, -1);
+        if (postingId < 0) {
+            if (postingCount == postings.length) {
+                postings = Arrays.copyOf(postings, postingCount * 2);
+                postingSizes = Arrays.copyOf(postingSizes, postingCount * 2);
+            }
+            postingId = postingCount++;
+            postings[postingId] = new int[4];
+            postingIds.put(trigram, postingId);
+        }
+        int size = postingSizes[postingId];
+        int[] posting = postings[postingId];
+        if (size > 0 && posting[size - 1] == document) {
+            return;
+        }
+        if (size == posting.length) {
+            posting = Arrays.copyOf(posting, size * 2);
+            postings[postingId] = posting;
+        }
+        posting[size] = document;
+        postingSizes[postingId] = size + 1;
+    }
+
+    private static long trigram(String text, int index) {
+        return ((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    public record SearchResult(long total, List<ProductSummary> products, boolean exactTotal) {
+    }
+
+    public record KeysetResult(List<ProductSummary> products, int lastDocument, boolean hasNext) {
+    }
+
+    // Läuft die kürzeste Posting-Liste ab und sucht jedes Dokument per Binärsuche in den übrigen,
+    // so wird nur so weit geschnitten, wie die Seite es braucht. Nur unter dem Read-Lock verwenden.
+    private final class Candidates {
+        private final int[] lists;
+        private final int[] from;
+        private int position;
+        private int start;
+
+        Candidates(int[] lists) {
+            this.lists = lists;
+            this.from = new int[lists.length];
+        }
+
+        void skipPast(int document) {
+            if (lists.length == 0) {
+                return;
+            }
+            int found = Arrays.binarySearch(postings[lists[0]], 0, postingSizes[lists[0]], document);
+            position = found >= 0 ? found + 1 : -found - 1;
+            start = position;
+        }
+
+        int next() {
+            if (lists.length == 0) {
+                return -1;
+            }
+            int[] shortest = postings[lists[0]];
+            int size = postingSizes[lists[0]];
+            while (position < size) {
+                int document = shortest[position++];
+                if (inAllOtherLists(document)) {
+                    return document;
+                }
+            }
+            return -1;
+        }
+
+        int examined() {
+            return position - start;
+        }
+
+        int remaining() {
+            return lists.length == 0 ? 0 : postingSizes[lists[0]] - position;
+        }
+
+        private boolean inAllOtherLists(int document) {
+            for (int i = 1; i < lists.length; i++) {
+                int found = Arrays.binarySearch(postings[lists[i]], from[i], postingSizes[lists[i]], document);
+                if (found < 0) {
+                    from[i] = -found - 1;
+                    return false;
+                }
+                from[i] = found + 1;
+            }
+            return true;
+        }
+    }
+}
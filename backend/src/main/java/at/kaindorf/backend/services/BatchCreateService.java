@@ -0,0 +1,89 @@
+package at.kaindorf.backend.services;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+@Service
+@Slf4j
+public class BatchCreateService {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public BatchCreateService(PlatformTransactionManager transactionManager,
+                              @Value("${batch.chunk-size:500}") int chunkSize) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public <T> List<BatchItemResult> persistAll(List<T> items, Function<T, String> validator, Function<T, Integer> idOf,
+                                                BiConsumer<T, Integer> setId) {
+        long started = System.nanoTime();
+        BatchItemResult[] results = new BatchItemResult[items.size()];
+        List<Integer> valid = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            String error = items.get(i) == null ? "Eintrag fehlt" : validator.apply(items.get(i));
+            if (error != null) {
+                results[i] = BatchItemResult.failed(i, error);
+            } else if (idOf.apply(items.get(i)) != null) {
+                results[i] = BatchItemResult.failed(i, "Neue Einträge dürfen keine ID haben");
+            } else {
+                valid.add(i);
+            }
+        }
+
+        for (int from = 0; from < valid.size(); from += chunkSize) {
+            persistChunk(items, valid.subList(from, Math.min(from + chunkSize, valid.size())), idOf, setId, results);
+        }
+
+        log.info("Batch: " + valid.size() + " von " + items.size() + " Einträgen in "
+                + (System.nanoTime() - started) / 1_000_000 + " ms verarbeitet");
+        return Arrays.asList(results);
+    }
+
+    // Schlägt ein Block fehl, wird er halbiert, bis nur die fehlerhaften Einträge übrig bleiben
+    private <T> void persistChunk(List<T> items, List<Integer> chunk, Function<T, Integer> idOf,
+                                  BiConsumer<T, Integer> setId, BatchItemResult[] results) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int index : chunk) {
+                    entityManager.persist(items.get(index));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+            for (int index : chunk) {
+                results[index] = BatchItemResult.created(index, idOf.apply(items.get(index)));
+            }
+        } catch (RuntimeException e) {
+            String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            // Die Sequenz hat beim Rollback schon IDs vergeben, ein erneuter persist braucht wieder neue Entities
+            for (int index : chunk) {
+                setId.accept(items.get(index), null);
+            }
+            if (chunk.size() == 1) {
+                log.error("Eintrag " + chunk.get(0) + " konnte nicht gespeichert werden: " + message);
+                results[chunk.get(0)] = BatchItemResult.failed(chunk.get(0), "Eintrag konnte nicht gespeichert werden: " + message);
+                return;
+            }
+            log.warn("Block " + chunk.get(0) + "-" + chunk.get(chunk.size() - 1) + " fehlgeschlagen, wird geteilt: " + message);
+            int half = chunk.size() / 2;
+            persistChunk(items, chunk.subList(0, half), idOf, setId, results);
+            persistChunk(items, chunk.subList(half, chunk.size()), idOf, setId, results);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package at.kaindorf.backend.services;
+
+public record BatchItemResult(int index, Integer id, String error) {
+    public static BatchItemResult created(int index, Integer id) {
+        return new BatchItemResult(index, id, null);
+    }
+
+    public static BatchItemResult failed(int index, String error) {
+        return new BatchItemResult(index, null, error);
+    }
+}
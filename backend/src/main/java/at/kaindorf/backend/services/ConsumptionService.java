@@ -0,0 +1,104 @@
+package at.kaindorf.backend.services;
+
+import at.kaindorf.backend.cache.GoalTimelineCache;
+import at.kaindorf.backend.cache.ProductLookupService;
+import at.kaindorf.backend.dto.ProductDto;
+import at.kaindorf.backend.pojos.ConsumptionEntry;
+import at.kaindorf.backend.pojos.Goal;
+import at.kaindorf.backend.repositorys.ConsumptionEntryRepository;
+import at.kaindorf.backend.repositorys.DailyCaloriesRepository;
+import at.kaindorf.backend.repositorys.GoalCaloriesRepository;
+import at.kaindorf.backend.repositorys.GoalRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ConsumptionService {
+    private final ConsumptionEntryRepository entryRepository;
+    private final DailyCaloriesRepository dailyCaloriesRepository;
+    private final GoalCaloriesRepository goalCaloriesRepository;
+    private final GoalRepository goalRepository;
+    private final ProductLookupService productLookupService;
+    private final GoalTimelineCache goalTimelineCache;
+    private final GoalQueryService goalQueryService;
+
+    @Transactional
+    public ConsumptionEntry logConsumption(Integer memberId, Integer goalId, long barcode, int grams) {
+        if (grams <= 0) {
+            throw new IllegalArgumentException("Grammanzahl muss positiv sein");
+        }
+        ProductDto product = productLookupService.findByBarcode(barcode)
+                .orElseThrow(() -> new NoSuchElementException("Produkt " + barcode + " wurde nicht gefunden"));
+        if (goalId != null) {
+            Goal goal = goalRepository.findById(goalId)
+                    .orElseThrow(() -> new NoSuchElementException("Ziel " + goalId + " wurde nicht gefunden"));
+            if (!goal.getUserId().equals(memberId)) {
+                throw new IllegalArgumentException("Ziel " + goalId + " gehört nicht zu Member " + memberId);
+            }
+        }
+
+        int kcal = Math.round(product.kcal_100g() * grams / 100f);
+        LocalDateTime now = LocalDateTime.now();
+        ConsumptionEntry entry = new ConsumptionEntry(memberId, barcode, product.productName(), grams, kcal, now.toLocalDate(), now);
+        entry.setGoalId(goalId);
+        return append(entry, 1);
+    }
+
+    @Transactional
+    public ConsumptionEntry revert(Long entryId) {
+        // Zeilensperre auf das Original, damit parallele Stornos nacheinander prüfen
+        ConsumptionEntry original = entryRepository.findByIdForUpdate(entryId)
+                .orElseThrow(() -> new NoSuchElementException("Eintrag " + entryId + " wurde nicht gefunden"));
+        if (original.getReversedEntryId() != null || entryRepository.existsByReversedEntryId(entryId)) {
+            throw new IllegalArgumentException("Eintrag " + entryId + " wurde bereits storniert");
+        }
+
+        ConsumptionEntry reversal = new ConsumptionEntry(original.getMemberId(), original.getBarcode(), original.getProductName(),
+                -original.getGrams(), -original.getKcal(), original.getDate(), LocalDateTime.now());
+        reversal.setGoalId(original.getGoalId());
+        reversal.setReversedEntryId(entryId);
+        return append(reversal, -1);
+    }
+
+    @Transactional
+    public List<ConsumptionEntry> logMeal(Integer memberId, Integer goalId, List<ConsumptionEntry> entries) {
+        List<ConsumptionEntry> saved = entryRepository.saveAll(entries);
+        long kcal = 0;
+        for (ConsumptionEntry entry : saved) {
+            kcal += entry.getKcal();
+        }
+        dailyCaloriesRepository.addCalories(memberId, saved.get(0).getDate(), kcal, saved.size());
+        if (goalId != null) {
+            applyToGoal(goalId, memberId, kcal, saved.size());
+        }
+        log.info("Mahlzeit mit " + saved.size() + " Einträgen gespeichert: " + kcal + " kcal für Member " + memberId);
+        return saved;
+    }
+
+    private ConsumptionEntry append(ConsumptionEntry entry, int entries) {
+        ConsumptionEntry saved = entryRepository.save(entry);
+        dailyCaloriesRepository.addCalories(saved.getMemberId(), saved.getDate(), saved.getKcal(), entries);
+        if (saved.getGoalId() != null) {
+            applyToGoal(saved.getGoalId(), saved.getMemberId(), saved.getKcal(), entries);
+        }
+        log.info("Verzehr " + saved.getEntryId() + " gespeichert: " + saved.getKcal() + " kcal für Member " + saved.getMemberId());
+        return saved;
+    }
+
+    // goal_calories ist die Summe der Einträge, goal.kcal das Restbudget, das die Clients anzeigen und selbst setzen können.
+    // Beide werden nur hier und in derselben Transaktion geändert: Startbudget = goal.kcal + goal_calories.kcal.
+    private void applyToGoal(Integer goalId, Integer memberId, long kcal, int entries) {
+        goalCaloriesRepository.addCalories(goalId, kcal, entries);
+        goalRepository.subtractKcal(goalId, kcal);
+        goalTimelineCache.invalidate(memberId);
+        goalQueryService.goalsChanged(memberId);
+    }
+}
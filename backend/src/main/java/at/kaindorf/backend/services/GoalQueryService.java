@@ -0,0 +1,105 @@
+package at.kaindorf.backend.services;
+
+import at.kaindorf.backend.dto.GoalDto;
+import at.kaindorf.backend.repositorys.GoalRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class GoalQueryService {
+    public static final String CHANGED_COOKIE = "goals-changed";
+    private static final int PRUNE_THRESHOLD = 1024;
+
+    private final GoalRepository goalRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate primaryTransaction;
+    private final Duration readYourWrites;
+    private final Clock clock;
+    private final Map<Integer, Instant> changedAt = new ConcurrentHashMap<>();
+
+    @Autowired
+    public GoalQueryService(GoalRepository goalRepository, PlatformTransactionManager transactionManager,
+                            @Value("${datasource.replica.read-your-writes:10s}") Duration readYourWrites) {
+        this(goalRepository, transactionManager, readYourWrites, Clock.systemUTC());
+    }
+
+    GoalQueryService(GoalRepository goalRepository, PlatformTransactionManager transactionManager,
+                     Duration readYourWrites, Clock clock) {
+        this.goalRepository = goalRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.readYourWrites = readYourWrites;
+        this.clock = clock;
+    }
+
+    public List<GoalDto> goals(Integer userId) {
+        return goals(userId, null);
+    }
+
+    // Read-only läuft auf der Replica. Wer seine Ziele gerade geändert hat, liest sie eine Weile von der Primary,
+    // sonst fehlt ihm wegen der Replikationsverzögerung die eigene Änderung. Der Änderungszeitpunkt kommt zusätzlich
+    // als Cookie vom Client, damit das auch gilt, wenn der Lesezugriff auf einem anderen Knoten landet.
+    public List<GoalDto> goals(Integer userId, Long clientChangedAt) {
+        boolean primary = changedRecently(userId)
+                || clientChangedAt != null && Instant.ofEpochMilli(clientChangedAt).plus(readYourWrites).isAfter(clock.instant());
+        TransactionTemplate transaction = primary ? primaryTransaction : readOnlyTransaction;
+        return transaction.execute(status -> goalRepository.getGoalsByUserId(userId).stream().map(GoalDto::of).toList());
+    }
+
+    public void goalsChanged(Integer userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    goalsChanged(userId);
+                }
+            });
+            return;
+        }
+        Instant now = clock.instant();
+        changedAt.put(userId, now);
+        if (changedAt.size() > PRUNE_THRESHOLD) {
+            changedAt.values().removeIf(changed -> !changed.plus(readYourWrites).isAfter(now));
+        }
+        rememberOnClient(now);
+    }
+
+    // afterCommit läuft noch im Request-Thread, die Antwort ist zu diesem Zeitpunkt noch nicht geschrieben
+    private void rememberOnClient(Instant now) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                && attributes.getResponse() != null && !attributes.getResponse().isCommitted()) {
+            ResponseCookie cookie = ResponseCookie.from(CHANGED_COOKIE, Long.toString(now.toEpochMilli()))
+                    .path("/goal").maxAge(readYourWrites).httpOnly(true).sameSite("Lax").build();
+            attributes.getResponse().addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        }
+    }
+
+    private boolean changedRecently(Integer userId) {
+        Instant changed = changedAt.get(userId);
+        if (changed == null) {
+            return false;
+        }
+        if (changed.plus(readYourWrites).isAfter(clock.instant())) {
+            return true;
+        }
+        changedAt.remove(userId, changed);
+        return false;
+    }
+}
@@ -0,0 +1,6 @@
+package at.kaindorf.backend.services;
+
+import java.util.List;
+
+public record GoalWorkoutChange(Integer goalId, int added, int removed, List<Integer> unknownWorkoutIds) {
+}
@@ -0,0 +1,45 @@
+package at.kaindorf.backend.services;
+
+import at.kaindorf.backend.repositorys.GoalRepository;
+import at.kaindorf.backend.repositorys.WorkoutRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class GoalWorkoutService {
+    private final GoalRepository goalRepository;
+    private final WorkoutRepository workoutRepository;
+    private final GoalQueryService goalQueryService;
+
+    @Transactional
+    public GoalWorkoutChange changeWorkouts(Integer goalId, Collection<Integer> add, Collection<Integer> remove) {
+        Integer userId = goalRepository.findUserIdByGoalId(goalId);
+        if (userId == null) {
+            throw new NoSuchElementException("Goal mit ID " + goalId + " nicht gefunden");
+        }
+
+        Set<Integer> requested = new HashSet<>(add);
+        requested.addAll(remove);
+        Set<Integer> existing = requested.isEmpty() ? Set.of() : workoutRepository.findExistingWorkoutIds(requested);
+        List<Integer> unknown = requested.stream().filter(id -> !existing.contains(id)).sorted().toList();
+
+        int removed = remove.isEmpty() ? 0 : goalRepository.removeWorkouts(goalId, remove);
+        int added = add.isEmpty() ? 0 : goalRepository.addWorkouts(goalId, add);
+        if (added > 0 || removed > 0) {
+            goalQueryService.goalsChanged(userId);
+        }
+        log.info("Goal " + goalId + ": " + added + " Workouts hinzugefügt, " + removed + " entfernt");
+
+        return new GoalWorkoutChange(goalId, added, removed, unknown);
+    }
+}
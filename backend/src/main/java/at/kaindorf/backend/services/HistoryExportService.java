@@ -0,0 +1,221 @@
+package at.kaindorf.backend.services;
+
+import at.kaindorf.backend.pojos.ConsumptionExportRow;
+import at.kaindorf.backend.pojos.GoalExportRow;
+import at.kaindorf.backend.repositorys.ConsumptionEntryRepository;
+import at.kaindorf.backend.repositorys.GoalRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class HistoryExportService {
+    private static final int FLUSH_EVERY = 500;
+
+    private final GoalRepository goalRepository;
+    private final ConsumptionEntryRepository consumptionEntryRepository;
+    private final JsonFactory jsonFactory;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public HistoryExportService(GoalRepository goalRepository, ConsumptionEntryRepository consumptionEntryRepository,
+                                ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.goalRepository = goalRepository;
+        this.consumptionEntryRepository = consumptionEntryRepository;
+        this.jsonFactory = objectMapper.getFactory();
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public void export(Integer memberId, ExportFormat format, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        try (HistoryWriter writer = format == ExportFormat.CSV ? new CsvWriter(out) : new NdjsonWriter(out)) {
+            long rows = readOnlyTransaction.execute(status -> {
+                try (Stream<GoalExportRow> goals = goalRepository.streamExportRowsByUserId(memberId);
+                     Stream<ConsumptionExportRow> entries = consumptionEntryRepository.streamExportRowsByMemberId(memberId)) {
+                    long written = 0;
+                    for (Iterator<GoalExportRow> it = goals.iterator(); it.hasNext(); ) {
+                        writer.goal(it.next());
+                        flushPeriodically(writer, ++written);
+                    }
+                    writer.endGoals();
+                    for (Iterator<ConsumptionExportRow> it = entries.iterator(); it.hasNext(); ) {
+                        writer.consumption(it.next());
+                        flushPeriodically(writer, ++written);
+                    }
+                    return written;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            log.info("Export von Member " + memberId + " als " + format + ": " + rows + " Zeilen in "
+                    + (System.nanoTime() - started) / 1_000_000 + " ms");
+        } catch (UncheckedIOException e) {
+            log.warn("Export von Member " + memberId + " abgebrochen: " + e.getCause().getMessage());
+            throw e.getCause();
+        }
+    }
+
+    private static void flushPeriodically(HistoryWriter writer, long written) throws IOException {
+        if (written == 1 || written % FLUSH_EVERY == 0) {
+            writer.flush();
+        }
+    }
+
+    private interface HistoryWriter extends AutoCloseable {
+        void goal(GoalExportRow row) throws IOException;
+
+        void endGoals() throws IOException;
+
+        void consumption(ConsumptionExportRow row) throws IOException;
+
+        void flush() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private final class NdjsonWriter implements HistoryWriter {
+        private final JsonGenerator generator;
+        private Integer openGoalId;
+
+        private NdjsonWriter(OutputStream out) throws IOException {
+            this.generator = jsonFactory.createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void goal(GoalExportRow row) throws IOException {
+            if (!row.goalId().equals(openGoalId)) {
+                endGoals();
+                generator.writeStartObject();
+                generator.writeStringField("type", "goal");
+                generator.writeNumberField("goalId", row.goalId());
+                generator.writeStringField("goalName", row.goalName());
+                generator.writeStringField("date", row.date().toString());
+                generator.writeNumberField("kcal", row.kcal());
+                generator.writeArrayFieldStart("workouts");
+                openGoalId = row.goalId();
+            }
+            if (row.workoutId() != null) {
+                generator.writeStartObject();
+                generator.writeNumberField("workoutId", row.workoutId());
+                generator.writeStringField("workoutName", row.workoutName());
+                generator.writeNumberField("minutes", row.minutes());
+                generator.writeEndObject();
+            }
+        }
+
+        @Override
+        public void endGoals() throws IOException {
+            if (openGoalId != null) {
+                generator.writeEndArray();
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                openGoalId = null;
+            }
+        }
+
+        @Override
+        public void consumption(ConsumptionExportRow row) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("type", "consumption");
+            generator.writeNumberField("entryId", row.entryId());
+            if (row.goalId() != null) {
+                generator.writeNumberField("goalId", row.goalId());
+            }
+            generator.writeNumberField("barcode", row.barcode());
+            generator.writeStringField("productName", row.productName());
+            generator.writeNumberField("grams", row.grams());
+            generator.writeNumberField("kcal", row.kcal());
+            generator.writeStringField("date", row.date().toString());
+            generator.writeStringField("consumedAt", row.consumedAt().toString());
+            if (row.reversedEntryId() != null) {
+                generator.writeNumberField("reversedEntryId", row.reversedEntryId());
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class CsvWriter implements HistoryWriter {
+        private static final String HEADER = "type,goalId,goalName,date,kcal,workoutId,workoutName,minutes,"
+                + "entryId,barcode,productName,grams,consumedAt,reversedEntryId\n";
+
+        private final Writer writer;
+
+        private CsvWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.writer.write(HEADER);
+        }
+
+        @Override
+        public void goal(GoalExportRow row) throws IOException {
+            line("goal", row.goalId(), row.goalName(), row.date(), row.kcal(), row.workoutId(), row.workoutName(),
+                    row.minutes(), null, null, null, null, null, null);
+        }
+
+        @Override
+        public void endGoals() {
+        }
+
+        @Override
+        public void consumption(ConsumptionExportRow row) throws IOException {
+            line("consumption", row.goalId(), null, row.date(), row.kcal(), null, null, null, row.entryId(),
+                    row.barcode(), row.productName(), row.grams(), row.consumedAt(), row.reversedEntryId());
+        }
+
+        private void line(Object... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(Objects.toString(values[i], "")));
+            }
+            writer.write('\n');
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+}
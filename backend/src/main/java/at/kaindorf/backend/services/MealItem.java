@@ -0,0 +1,4 @@
+package at.kaindorf.backend.services;
+
+public record MealItem(long barcode, String productName, int grams, int kcal, Long entryId) {
+}
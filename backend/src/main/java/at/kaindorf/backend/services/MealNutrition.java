@@ -0,0 +1,7 @@
+package at.kaindorf.backend.services;
+
+import java.util.List;
+
+public record MealNutrition(List<MealItem> items, List<Long> unknownBarcodes, long totalKcal,
+                            boolean applied, Integer goalId, Integer remainingKcal) {
+}
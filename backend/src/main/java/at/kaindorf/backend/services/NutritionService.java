@@ -0,0 +1,108 @@
+package at.kaindorf.backend.services;
+
+import at.kaindorf.backend.cache.GoalTimelineCache;
+import at.kaindorf.backend.cache.ProductLookupService;
+import at.kaindorf.backend.dto.ProductDto;
+import at.kaindorf.backend.pojos.ConsumptionEntry;
+import at.kaindorf.backend.pojos.Goal;
+import at.kaindorf.backend.repositorys.GoalRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class NutritionService {
+    private final ProductLookupService productLookupService;
+    private final ConsumptionService consumptionService;
+    private final GoalRepository goalRepository;
+    private final GoalTimelineCache goalTimelineCache;
+
+    @Transactional
+    public MealNutrition meal(Integer memberId, Integer goalId, boolean apply, long[] barcodes, int[] grams) {
+        if (barcodes.length == 0 || barcodes.length != grams.length) {
+            throw new IllegalArgumentException("Mahlzeit enthält keine gültigen Einträge");
+        }
+        for (int gram : grams) {
+            if (gram <= 0) {
+                throw new IllegalArgumentException("Grammanzahl muss positiv sein");
+            }
+        }
+
+        Map<Long, ProductDto> products = new HashMap<>();
+        for (ProductDto product : productLookupService.findByBarcodes(barcodes)) {
+            products.put(product.barcode(), product);
+        }
+
+        ProductDto[] resolved = new ProductDto[barcodes.length];
+        int[] kcal = new int[barcodes.length];
+        long totalKcal = 0;
+        List<Long> unknown = new ArrayList<>();
+        for (int i = 0; i < barcodes.length; i++) {
+            resolved[i] = products.get(barcodes[i]);
+            if (resolved[i] == null) {
+                unknown.add(barcodes[i]);
+                continue;
+            }
+            kcal[i] = Math.round(resolved[i].kcal_100g() * grams[i] / 100f);
+            totalKcal += kcal[i];
+        }
+
+        List<MealItem> items = new ArrayList<>(barcodes.length);
+        for (int i = 0; i < barcodes.length; i++) {
+            if (resolved[i] != null) {
+                items.add(new MealItem(barcodes[i], resolved[i].productName(), grams[i], kcal[i], null));
+            }
+        }
+        if (!apply || !unknown.isEmpty()) {
+            return new MealNutrition(items, unknown, totalKcal, false, null, null);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Goal goal = goalFor(memberId, goalId, now);
+        List<ConsumptionEntry> entries = new ArrayList<>(barcodes.length);
+        for (int i = 0; i < barcodes.length; i++) {
+            ConsumptionEntry entry = new ConsumptionEntry(memberId, barcodes[i], resolved[i].productName(), grams[i],
+                    kcal[i], now.toLocalDate(), now);
+            entry.setGoalId(goal == null ? null : goal.getGoalId());
+            entries.add(entry);
+        }
+        List<ConsumptionEntry> saved = consumptionService.logMeal(memberId, goal == null ? null : goal.getGoalId(), entries);
+        List<MealItem> logged = new ArrayList<>(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            MealItem item = items.get(i);
+            logged.add(new MealItem(item.barcode(), item.productName(), item.grams(), item.kcal(), saved.get(i).getEntryId()));
+        }
+
+        if (goal == null) {
+            log.info("Mahlzeit von Member " + memberId + " ohne aktuelles Ziel gespeichert");
+            return new MealNutrition(logged, unknown, totalKcal, true, null, null);
+        }
+        Integer remainingKcal = goalRepository.findKcalByGoalId(goal.getGoalId());
+        log.info("Mahlzeit mit " + totalKcal + " kcal auf Ziel " + goal.getGoalId() + " angerechnet");
+        return new MealNutrition(logged, unknown, totalKcal, true, goal.getGoalId(), remainingKcal);
+    }
+
+    private Goal goalFor(Integer memberId, Integer goalId, LocalDateTime now) {
+        if (goalId == null) {
+            return goalTimelineCache.currentGoal(memberId, now.toLocalDate())
+                    .flatMap(current -> goalRepository.findById(current.goalId()))
+                    .orElse(null);
+        }
+        Goal goal = goalRepository.findById(goalId)
+                .orElseThrow(() -> new NoSuchElementException("Ziel " + goalId + " wurde nicht gefunden"));
+        if (!goal.getUserId().equals(memberId)) {
+            throw new IllegalArgumentException("Ziel " + goalId + " gehört nicht zu Member " + memberId);
+        }
+        return goal;
+    }
+}
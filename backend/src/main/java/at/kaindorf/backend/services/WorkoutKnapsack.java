@@ -0,0 +1,163 @@
+package at.kaindorf.backend.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+public final class WorkoutKnapsack {
+    private static final int INFINITE = Integer.MAX_VALUE / 2;
+    private static final int MIN_GROUP_SIZE = 128;
+    private static final int MAX_BUCKETS = 1000;
+
+    private final int[] kcal;
+    private final int[] minutes;
+    private final int minStep;
+
+    public WorkoutKnapsack(int[] kcal, int[] minutes, int minStep) {
+        this.kcal = kcal;
+        this.minutes = minutes;
+        this.minStep = Math.max(1, minStep);
+    }
+
+    public List<Combination> best(int targetKcal, int maxMinutes, int limit) {
+        if (targetKcal <= 0 || kcal.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        int step = Math.max(minStep, (targetKcal + MAX_BUCKETS - 1) / MAX_BUCKETS);
+        int[] weights = new int[kcal.length];
+        for (int i = 0; i < kcal.length; i++) {
+            weights[i] = Math.max(1, Math.round(kcal[i] / (float) step));
+        }
+        int target = Math.max(1, Math.round(targetKcal / (float) step));
+        int capacity = target + Math.max(1, target / 4);
+
+        int groups = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), kcal.length / MIN_GROUP_SIZE));
+        List<Node> level = IntStream.range(0, groups).parallel()
+                .mapToObj(group -> (Node) new Leaf(weights, minutes, group * kcal.length / groups, (group + 1) * kcal.length / groups, capacity))
+                .toList();
+        while (level.size() > 1) {
+            List<Node> current = level;
+            level = IntStream.range(0, (current.size() + 1) / 2).parallel()
+                    .mapToObj(pair -> 2 * pair + 1 < current.size()
+                            ? (Node) new Merge(current.get(2 * pair), current.get(2 * pair + 1), capacity)
+                            : current.get(2 * pair))
+                    .toList();
+        }
+        Node root = level.get(0);
+
+        return IntStream.rangeClosed(1, capacity)
+                .filter(k -> root.minTime[k] <= maxMinutes)
+                .boxed()
+                .sorted(Comparator.<Integer>comparingInt(k -> Math.abs(k - target)).thenComparingInt(k -> root.minTime[k]))
+                .limit(limit)
+                .map(k -> combination(root, k))
+                .sorted(Comparator.<Combination>comparingInt(c -> Math.abs(c.kcal() - targetKcal)).thenComparingInt(Combination::minutes))
+                .toList();
+    }
+
+    private Combination combination(Node root, int bucket) {
+        List<Integer> items = new ArrayList<>();
+        root.collect(bucket, items);
+        int totalKcal = 0;
+        int totalMinutes = 0;
+        int[] indices = new int[items.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = items.get(i);
+            totalKcal += kcal[indices[i]];
+            totalMinutes += minutes[indices[i]];
+        }
+        return new Combination(indices, totalKcal, totalMinutes);
+    }
+
+    public record Combination(int[] items, int kcal, int minutes) {
+    }
+
+    private abstract static class Node {
+        protected final int[] minTime;
+
+        protected Node(int capacity) {
+            this.minTime = new int[capacity + 1];
+        }
+
+        abstract void collect(int bucket, List<Integer> items);
+    }
+
+    private static final class Leaf extends Node {
+        private final int[] weights;
+        private final int from;
+        private final int to;
+        private final int width;
+        private final BitSet taken;
+
+        private Leaf(int[] weights, int[] minutes, int from, int to, int capacity) {
+            super(capacity);
+            this.weights = weights;
+            this.from = from;
+            this.to = to;
+            this.width = capacity + 1;
+            this.taken = new BitSet((to - from) * width);
+            Arrays.fill(minTime, INFINITE);
+            minTime[0] = 0;
+            for (int item = from; item < to; item++) {
+                int weight = weights[item];
+                int time = minutes[item];
+                int row = (item - from) * width;
+                for (int k = capacity; k >= weight; k--) {
+                    int candidate = minTime[k - weight] + time;
+                    if (candidate < minTime[k]) {
+                        minTime[k] = candidate;
+                        taken.set(row + k);
+                    }
+                }
+            }
+        }
+
+        @Override
+        void collect(int bucket, List<Integer> items) {
+            for (int item = to - 1; item >= from && bucket > 0; item--) {
+                if (taken.get((item - from) * width + bucket)) {
+                    items.add(item);
+                    bucket -= weights[item];
+                }
+            }
+        }
+    }
+
+    private static final class Merge extends Node {
+        private final Node left;
+        private final Node right;
+        private final int[] split;
+
+        private Merge(Node left, Node right, int capacity) {
+            super(capacity);
+            this.left = left;
+            this.right = right;
+            this.split = new int[capacity + 1];
+            IntStream.rangeClosed(0, capacity).parallel().forEach(k -> {
+                int best = INFINITE;
+                int bestSplit = 0;
+                for (int j = 0; j <= k; j++) {
+                    int candidate = left.minTime[j] + right.minTime[k - j];
+                    if (candidate < best) {
+                        best = candidate;
+                        bestSplit = j;
+                    }
+                }
+                minTime[k] = best;
+                split[k] = bestSplit;
+            });
+        }
+
+        @Override
+        void collect(int bucket, List<Integer> items) {
+            if (minTime[bucket] >= INFINITE) {
+                return;
+            }
+            left.collect(split[bucket], items);
+            right.collect(bucket - split[bucket], items);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package at.kaindorf.backend.services;
+
+import java.util.List;
+
+public record WorkoutRecommendation(List<WorkoutTotals> workouts, int kcal, int minutes, int deviation) {
+}
@@ -0,0 +1,132 @@
+package at.kaindorf.backend.services;
+
+import at.kaindorf.backend.cache.CatalogCache;
+import at.kaindorf.backend.pojos.ExerciseLevel;
+import at.kaindorf.backend.pojos.Goal;
+import at.kaindorf.backend.pojos.Workout;
+import at.kaindorf.backend.pojos.WorkoutExerciseRow;
+import at.kaindorf.backend.repositorys.GoalRepository;
+import at.kaindorf.backend.repositorys.WorkoutRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+@Service
+@Slf4j
+public class WorkoutRecommendationService {
+    private final WorkoutRepository workoutRepository;
+    private final GoalRepository goalRepository;
+    private final CatalogCache catalogCache;
+    private final int kcalStep;
+    private volatile LoadedTotals loaded;
+
+    public WorkoutRecommendationService(WorkoutRepository workoutRepository, GoalRepository goalRepository,
+                                        CatalogCache catalogCache,
+                                        @Value("${recommendation.kcal-step:5}") int kcalStep) {
+        this.workoutRepository = workoutRepository;
+        this.goalRepository = goalRepository;
+        this.catalogCache = catalogCache;
+        this.kcalStep = kcalStep;
+    }
+
+    @Transactional
+    public List<WorkoutRecommendation> recommend(Integer goalId, Integer targetKcal, int maxMinutes, ExerciseLevel maxLevel, int limit) {
+        Goal goal = goalRepository.findById(goalId)
+                .orElseThrow(() -> new NoSuchElementException("Ziel " + goalId + " wurde nicht gefunden"));
+        List<WorkoutTotals> totals = totals();
+
+        Set<Integer> planned = new HashSet<>();
+        for (Workout workout : goal.getWorkouts()) {
+            planned.add(workout.getWorkoutId());
+        }
+        int remaining = goal.getKcal();
+        List<WorkoutTotals> candidates = new ArrayList<>(totals.size());
+        for (WorkoutTotals workout : totals) {
+            if (planned.contains(workout.workoutId())) {
+                remaining -= workout.kcal();
+            } else if (workout.kcal() > 0 && workout.minutes() <= maxMinutes
+                    && (maxLevel == null || workout.level().compareTo(maxLevel) <= 0)) {
+                candidates.add(workout);
+            }
+        }
+        int target = targetKcal != null ? targetKcal : remaining;
+
+        long started = System.nanoTime();
+        int[] kcal = new int[candidates.size()];
+        int[] minutes = new int[candidates.size()];
+        for (int i = 0; i < kcal.length; i++) {
+            kcal[i] = candidates.get(i).kcal();
+            minutes[i] = candidates.get(i).minutes();
+        }
+        List<WorkoutRecommendation> recommendations = new ArrayList<>(limit);
+        for (WorkoutKnapsack.Combination combination : new WorkoutKnapsack(kcal, minutes, kcalStep).best(target, maxMinutes, limit)) {
+            List<WorkoutTotals> workouts = new ArrayList<>(combination.items().length);
+            for (int item : combination.items()) {
+                workouts.add(candidates.get(item));
+            }
+            recommendations.add(new WorkoutRecommendation(workouts, combination.kcal(), combination.minutes(),
+                    combination.kcal() - target));
+        }
+        log.info("Empfehlungen für Ziel " + goalId + " (" + target + " kcal, " + candidates.size() + " Workouts) in "
+                + (System.nanoTime() - started) / 1000 + " µs berechnet");
+        return recommendations;
+    }
+
+    private List<WorkoutTotals> totals() {
+        LoadedTotals current = loaded;
+        long version = catalogCache.version();
+        if (current != null && current.version() == version) {
+            return current.totals();
+        }
+        synchronized (this) {
+            current = loaded;
+            if (current == null || current.version() != version) {
+                current = new LoadedTotals(version, load());
+                loaded = current;
+            }
+            return current.totals();
+        }
+    }
+
+    private List<WorkoutTotals> load() {
+        List<WorkoutTotals> totals = new ArrayList<>();
+        Integer workoutId = null;
+        String workoutName = null;
+        int minutes = 0;
+        int kcal = 0;
+        ExerciseLevel level = ExerciseLevel.EASY;
+        for (WorkoutExerciseRow row : workoutRepository.getWorkoutExerciseRows()) {
+            if (!row.workoutId().equals(workoutId)) {
+                if (workoutId != null) {
+                    totals.add(new WorkoutTotals(workoutId, workoutName, minutes, kcal, level));
+                }
+                workoutId = row.workoutId();
+                workoutName = row.workoutName();
+                minutes = row.time();
+                kcal = 0;
+                level = ExerciseLevel.EASY;
+            }
+            if (row.kcal() != null) {
+                kcal += row.kcal();
+            }
+            if (row.exerciseLevel() != null && row.exerciseLevel().compareTo(level) > 0) {
+                level = row.exerciseLevel();
+            }
+        }
+        if (workoutId != null) {
+            totals.add(new WorkoutTotals(workoutId, workoutName, minutes, kcal, level));
+        }
+        log.info("Workout-Summen für " + totals.size() + " Workouts geladen");
+        return List.copyOf(totals);
+    }
+
+    private record LoadedTotals(long version, List<WorkoutTotals> totals) {
+    }
+}
@@ -0,0 +1,6 @@
+package at.kaindorf.backend.services;
+
+import at.kaindorf.backend.pojos.ExerciseLevel;
+
+public record WorkoutTotals(Integer workoutId, String workoutName, int minutes, int kcal, ExerciseLevel level) {
+}
@@ -0,0 +1,122 @@
+package at.kaindorf.backend.web;
+
+import at.kaindorf.backend.dto.ConsumptionEntryDto;
+import at.kaindorf.backend.dto.DailyCaloriesDto;
+import at.kaindorf.backend.dto.GoalCaloriesDto;
+import at.kaindorf.backend.pojos.ConsumptionEntry;
+import at.kaindorf.backend.pojos.DailyCalories;
+import at.kaindorf.backend.pojos.DailyCaloriesId;
+import at.kaindorf.backend.pojos.GoalCalories;
+import at.kaindorf.backend.repositorys.ConsumptionEntryRepository;
+import at.kaindorf.backend.repositorys.DailyCaloriesRepository;
+import at.kaindorf.backend.repositorys.GoalCaloriesRepository;
+import at.kaindorf.backend.services.ConsumptionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+@RestController
+@RequestMapping("/consumption")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
+@Slf4j
+@RequiredArgsConstructor
+public class ConsumptionController {
+    private final ConsumptionService consumptionService;
+    private final ConsumptionEntryRepository entryRepository;
+    private final DailyCaloriesRepository dailyCaloriesRepository;
+    private final GoalCaloriesRepository goalCaloriesRepository;
+
+    @PostMapping("/add")
+    public ResponseEntity<ConsumptionEntryDto> addConsumption(
+            @RequestBody Map<String, Object> payload
+    ) {
+        try {
+            Integer memberId = ((Number) payload.get("memberId")).intValue();
+            Integer goalId = payload.get("goalId") != null ? ((Number) payload.get("goalId")).intValue() : null;
+            long barcode = ((Number) payload.get("barcode")).longValue();
+            int grams = ((Number) payload.get("grams")).intValue();
+
+            ConsumptionEntry entry = consumptionService.logConsumption(memberId, goalId, barcode, grams);
+            return created(entry);
+        } catch (NoSuchElementException e) {
+            log.error(e.getMessage());
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            log.error("Fehler beim Speichern des Verzehrs", e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/{entryId}/revert")
+    public ResponseEntity<ConsumptionEntryDto> revertConsumption(@PathVariable Long entryId) {
+        try {
+            return created(consumptionService.revert(entryId));
+        } catch (NoSuchElementException e) {
+            log.error(e.getMessage());
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            log.error(e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (DataIntegrityViolationException e) {
+            log.error("Eintrag " + entryId + " wurde parallel bereits storniert");
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @GetMapping("/entries/{memberId}/{date}")
+    public ResponseEntity<List<ConsumptionEntryDto>> entries(
+            @PathVariable("memberId") Integer memberId,
+            @PathVariable("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return ResponseEntity.ok(entryRepository.findByMemberIdAndDateOrderByConsumedAt(memberId, date).stream()
+                .map(ConsumptionEntryDto::of).toList());
+    }
+
+    @GetMapping("/daily/{memberId}/{date}")
+    public ResponseEntity<DailyCaloriesDto> dailyTotal(
+            @PathVariable("memberId") Integer memberId,
+            @PathVariable("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return ResponseEntity.ok(DailyCaloriesDto.of(dailyCaloriesRepository.findById(new DailyCaloriesId(memberId, date))
+                .orElse(new DailyCalories(memberId, date, 0L, 0))));
+    }
+
+    @GetMapping("/daily/{memberId}")
+    public ResponseEntity<List<DailyCaloriesDto>> dailyTotals(
+            @PathVariable("memberId") Integer memberId,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(dailyCaloriesRepository.findByMemberIdAndDateBetweenOrderByDate(memberId, from, to).stream()
+                .map(DailyCaloriesDto::of).toList());
+    }
+
+    @GetMapping("/goal/{goalId}")
+    public ResponseEntity<GoalCaloriesDto> goalTotal(@PathVariable("goalId") Integer goalId) {
+        return ResponseEntity.ok(GoalCaloriesDto.of(goalCaloriesRepository.findById(goalId)
+                .orElse(new GoalCalories(goalId, 0L, 0))));
+    }
+
+    private static ResponseEntity<ConsumptionEntryDto> created(ConsumptionEntry entry) {
+        URI location = ServletUriComponentsBuilder
+                .fromCurrentContextPath()
+                .path("/consumption/entries/{memberId}/{date}")
+                .buildAndExpand(entry.getMemberId(), entry.getDate())
+                .toUri();
+        return ResponseEntity.created(location).body(ConsumptionEntryDto.of(entry));
+    }
+}
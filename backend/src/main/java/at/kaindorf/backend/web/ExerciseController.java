@@ -1,12 +1,19 @@
 package at.kaindorf.backend.web;
 
+import at.kaindorf.backend.cache.CatalogCache;
+import at.kaindorf.backend.dto.ExerciseDto;
 import at.kaindorf.backend.pojos.Exercise;
 import at.kaindorf.backend.repositorys.ExerciseRepository;
+import at.kaindorf.backend.services.BatchCreateService;
+import at.kaindorf.backend.services.BatchItemResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -21,22 +28,34 @@ import java.util.Optional;
 public class ExerciseController {
 
     private final ExerciseRepository exerciseRepository;
+    private final CatalogCache catalogCache;
+    private final BatchCreateService batchCreateService;
 
     @GetMapping("/exercises")
-    public ResponseEntity<List<Exercise>> exercise(){
-        List<Exercise> exercises = exerciseRepository.getExercise();
-
-        if(exercises != null){
-            log.info("GET: Alle vorhandenen Exercises werden angezeigt");
-        }else{
-            log.error("Fehler, Exercises wurden nicht gefunden");
+    public ResponseEntity<byte[]> exercise(WebRequest request){
+        CatalogCache.Catalog exercises = catalogCache.exercises();
+        if (request.checkNotModified(exercises.eTag())) {
+            log.info("GET: Exercises unverändert, 304");
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(exercises.eTag()).build();
         }
 
-        return ResponseEntity.ok(exercises);
+        CatalogCache.Snapshot snapshot = exercises.get();
+        log.info("GET: Alle vorhandenen Exercises werden angezeigt");
+
+        return ResponseEntity.ok()
+                .eTag(snapshot.eTag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.json());
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CatalogCache.Stats> cacheStats(){
+        return ResponseEntity.ok(catalogCache.exercises().stats());
     }
 
     @GetMapping("/{exerciseName}")
-    public ResponseEntity<Exercise> exerciseByName(
+    public ResponseEntity<ExerciseDto> exerciseByName(
             @PathVariable("exerciseName") String exerciseName
     ){
         Exercise exercise = exerciseRepository.getExerciseByExerciseNameName(exerciseName);
@@ -47,15 +66,16 @@ public class ExerciseController {
             log.error("Fehler, Workout wurde nicht gefunden");
         }
 
-        return ResponseEntity.ok(exercise);
+        return ResponseEntity.ok(exercise == null ? null : ExerciseDto.of(exercise));
     }
 
     @PostMapping("/addExercise")
-    public ResponseEntity<Exercise> addExercise(
+    public ResponseEntity<ExerciseDto> addExercise(
             @RequestBody Exercise exercise
     ) {
 
         Optional<Exercise> newExercise = Optional.of(exerciseRepository.save(exercise));
+        catalogCache.invalidate();
 
         if(newExercise.isPresent()){
             URI location = ServletUriComponentsBuilder
@@ -67,14 +87,26 @@ public class ExerciseController {
             log.info("POST: Neue Exercic wurde hinzugefügt");
             log.info(String.valueOf(newExercise));
 
-            return ResponseEntity.created(location).body(newExercise.get());
+            return ResponseEntity.created(location).body(ExerciseDto.of(newExercise.get()));
         }
 
         return ResponseEntity.status(HttpStatus.CONFLICT).build();
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> addExercises(
+            @RequestBody List<Exercise> exercises
+    ) {
+        List<BatchItemResult> results = batchCreateService.persistAll(exercises, ExerciseController::validate, Exercise::getExerciseId,
+                Exercise::setExerciseId);
+        catalogCache.invalidate();
+        log.info("POST: " + results.stream().filter(r -> r.error() == null).count() + " von " + exercises.size() + " Exercises hinzugefügt");
+
+        return ResponseEntity.ok(results);
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<Exercise> updateExercise(
+    public ResponseEntity<ExerciseDto> updateExercise(
             @PathVariable Integer id,
             @RequestBody Exercise exercise
     ){
@@ -91,7 +123,8 @@ public class ExerciseController {
                     existingExercise.setDescription(exercise.getDescription());
 
                     Exercise updatedExercise = exerciseRepository.save(existingExercise);
-                    return ResponseEntity.ok(updatedExercise);
+                    catalogCache.invalidate();
+                    return ResponseEntity.ok(ExerciseDto.of(updatedExercise));
                 })
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
     }
@@ -102,6 +135,7 @@ public class ExerciseController {
     {
         if (exerciseRepository.existsById(id)) {
             exerciseRepository.deleteById(id);
+            catalogCache.invalidate();
             log.info("DELETE: Exercise mit der ID " + id + " wurde gelöscht.");
             return ResponseEntity.noContent().build();
         } else {
@@ -109,4 +143,15 @@ public class ExerciseController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    private static String validate(Exercise exercise) {
+        if (exercise.getExerciseId() != null) {
+            return "exerciseId darf nicht gesetzt sein";
+        }
+        if (exercise.getExerciseName() == null || exercise.getExerciseLevel() == null || exercise.getBodyPart() == null
+                || exercise.getImageURL() == null || exercise.getKcal() == null || exercise.getDescription() == null) {
+            return "Pflichtfelder fehlen";
+        }
+        return null;
+    }
 }
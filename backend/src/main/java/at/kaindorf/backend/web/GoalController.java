@@ -1,13 +1,22 @@
 package at.kaindorf.backend.web;
 
+import at.kaindorf.backend.cache.GoalTimelineCache;
+import at.kaindorf.backend.cache.LongKeyCache;
+import at.kaindorf.backend.dto.GoalDto;
+import at.kaindorf.backend.pojos.ExerciseLevel;
 import at.kaindorf.backend.pojos.Goal;
-import at.kaindorf.backend.pojos.Workout;
+import at.kaindorf.backend.pojos.GoalSummary;
 import at.kaindorf.backend.repositorys.GoalRepository;
-import at.kaindorf.backend.repositorys.WorkoutRepository;
+import at.kaindorf.backend.services.BatchCreateService;
+import at.kaindorf.backend.services.BatchItemResult;
+import at.kaindorf.backend.services.GoalQueryService;
+import at.kaindorf.backend.services.GoalWorkoutChange;
+import at.kaindorf.backend.services.GoalWorkoutService;
+import at.kaindorf.backend.services.WorkoutRecommendation;
+import at.kaindorf.backend.services.WorkoutRecommendationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,9 +25,11 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import java.net.URI;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/goal")
@@ -27,30 +38,40 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class GoalController {
     private final GoalRepository goalRepository;
-    private final WorkoutRepository workoutRepository;
+    private final BatchCreateService batchCreateService;
+    private final GoalWorkoutService goalWorkoutService;
+    private final GoalTimelineCache goalTimelineCache;
+    private final GoalQueryService goalQueryService;
+    private final WorkoutRecommendationService workoutRecommendationService;
 
     @GetMapping("/goals/{userId}")
-    public ResponseEntity<List<Goal>> goals(
-            @PathVariable("userId") Integer id
+    public ResponseEntity<List<GoalDto>> goals(
+            @PathVariable("userId") Integer id,
+            @CookieValue(name = GoalQueryService.CHANGED_COOKIE, required = false) Long changedAt
     ){
-        List<Goal> goals = goalRepository.getGoalsByUserId(id);
-
-        if(goals != null){
-            log.info("GET: Alle Ziele vom Member mit der " + id + " wurden gefunden");
-        }else{
-            log.error("Fehler, Ziele von Member " + id + " wurden nicht gefunden");
-        }
+        List<GoalDto> goals = goalQueryService.goals(id, changedAt);
+        log.info("GET: Alle Ziele vom Member mit der " + id + " wurden gefunden");
 
         return ResponseEntity.ok(goals);
     }
 
+    @GetMapping("/summary/{userId}")
+    public ResponseEntity<List<GoalSummary>> goalSummaries(
+            @PathVariable("userId") Integer id
+    ){
+        List<GoalSummary> summaries = goalRepository.summarizeGoalsByUserId(id);
+        log.info("GET: " + summaries.size() + " Zielzusammenfassungen vom Member " + id + " wurden berechnet");
+
+        return ResponseEntity.ok(summaries);
+    }
+
     @GetMapping("/goal/id/{id}")
-    public ResponseEntity<Goal> goalById(@PathVariable("id") Integer goalId) {
+    public ResponseEntity<GoalDto> goalById(@PathVariable("id") Integer goalId) {
         Goal goal = goalRepository.getGoalByGoalId(goalId);
 
         if (goal != null) {
             log.info("GET: Ziel " + goal + " wurde gefunden");
-            return ResponseEntity.ok(goal);
+            return ResponseEntity.ok(GoalDto.of(goal));
         } else {
             log.error("Fehler, Ziel " + goalId + " wurde nicht gefunden");
             return ResponseEntity.notFound().build();
@@ -59,17 +80,15 @@ public class GoalController {
 
 
     @PostMapping("/addGoal")
-    public ResponseEntity<Goal> addGoal(
+    public ResponseEntity<GoalDto> addGoal(
             @RequestBody Map<String, Object> payload
     ) {
         try {
-            Goal goal = new Goal();
-            goal.setGoalName((String) payload.get("goalName"));
-            goal.setKcal(((Number) payload.get("kcal")).intValue());
-            goal.setDate(LocalDate.parse((String) payload.get("date")));
-            goal.setUserId(((Number) payload.get("userId")).intValue());
+            Goal goal = goalFromPayload(payload);
 
             Goal savedGoal = goalRepository.save(goal);
+            goalTimelineCache.invalidate(savedGoal.getUserId());
+            goalQueryService.goalsChanged(savedGoal.getUserId());
 
             URI location = ServletUriComponentsBuilder
                     .fromCurrentRequest()
@@ -77,14 +96,40 @@ public class GoalController {
                     .buildAndExpand(savedGoal.getGoalId())
                     .toUri();
 
-            return ResponseEntity.created(location).body(savedGoal);
+            return ResponseEntity.created(location).body(GoalDto.of(savedGoal));
         } catch (Exception e) {
             log.error("Error creating goal", e);
             return ResponseEntity.badRequest().build();
         }
     }
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> addGoals(
+            @RequestBody List<Map<String, Object>> payloads
+    ) {
+        List<Goal> goals = new ArrayList<>(payloads.size());
+        Map<Integer, String> parseErrors = new HashMap<>();
+        for (int i = 0; i < payloads.size(); i++) {
+            try {
+                goals.add(goalFromPayload(payloads.get(i)));
+            } catch (RuntimeException e) {
+                goals.add(null);
+                parseErrors.put(i, "Ungültiges Ziel: " + e.getMessage());
+            }
+        }
+
+        List<BatchItemResult> results = batchCreateService.persistAll(goals, goal -> null, Goal::getGoalId, Goal::setGoalId);
+        parseErrors.forEach((index, error) -> results.set(index, BatchItemResult.failed(index, error)));
+        List<Integer> userIds = goals.stream().filter(Objects::nonNull).map(Goal::getUserId).distinct().toList();
+        goalTimelineCache.invalidateAll(userIds);
+        userIds.forEach(goalQueryService::goalsChanged);
+        log.info("POST: " + (payloads.size() - results.stream().filter(r -> r.error() != null).count())
+                + " von " + payloads.size() + " Zielen hinzugefügt");
+
+        return ResponseEntity.ok(results);
+    }
+
     @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Goal> updateGoalKcal(
+    public ResponseEntity<GoalDto> updateGoalKcal(
             @PathVariable Integer id,
             @RequestBody Map<String, Object> updates) {
 
@@ -93,7 +138,10 @@ public class GoalController {
                     if (updates.containsKey("kcal")) {
                         existingGoal.setKcal((Integer) updates.get("kcal"));
                     }
-                    return ResponseEntity.ok(goalRepository.save(existingGoal));
+                    Goal savedGoal = goalRepository.save(existingGoal);
+                    goalTimelineCache.invalidate(savedGoal.getUserId());
+                    goalQueryService.goalsChanged(savedGoal.getUserId());
+                    return ResponseEntity.ok(GoalDto.of(savedGoal));
                 })
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
@@ -102,105 +150,128 @@ public class GoalController {
     public ResponseEntity<Void> deleteGoal(
             @PathVariable Integer id)
     {
-        if (goalRepository.existsById(id)) {
-            goalRepository.deleteById(id);
-            log.info("DELETE: Goal mit der ID " + id + " wurde gelöscht.");
-            return ResponseEntity.noContent().build();
-        } else {
-            log.error("Goal mit der ID " + id + " wurde nicht gefunden.");
-            return ResponseEntity.notFound().build();
-        }
+        return goalRepository.findById(id)
+                .map(goal -> {
+                    goalRepository.delete(goal);
+                    goalTimelineCache.invalidate(goal.getUserId());
+                    goalQueryService.goalsChanged(goal.getUserId());
+                    log.info("DELETE: Goal mit der ID " + id + " wurde gelöscht.");
+                    return ResponseEntity.noContent().<Void>build();
+                })
+                .orElseGet(() -> {
+                    log.error("Goal mit der ID " + id + " wurde nicht gefunden.");
+                    return ResponseEntity.notFound().build();
+                });
     }
 
     @GetMapping("/currentGoal/{memberId}/{date}")
-    public ResponseEntity<Goal> getCurrentGoalByMemberAndDate(
-            @PathVariable("memberId") Long memberId,
+    public ResponseEntity<GoalTimelineCache.Entry> getCurrentGoalByMemberAndDate(
+            @PathVariable("memberId") Integer memberId,
             @PathVariable("date") LocalDate date
     ) {
-        Goal goal = goalRepository.findCurrentGoalByMemberIdAndDate(memberId, date);
+        return goalTimelineCache.currentGoal(memberId, date)
+                .map(goal -> {
+                    log.info("GET: Aktuelles Ziel für Mitglied " + memberId + ": " + goal);
+                    return ResponseEntity.ok(goal);
+                })
+                .orElseGet(() -> {
+                    log.warn("Kein aktuelles Ziel für Mitglied " + memberId + " am " + date + " gefunden.");
+                    return ResponseEntity.notFound().build();
+                });
+    }
 
-        if (goal != null) {
-            log.info("GET: Aktuelles Ziel für Mitglied " + memberId + ": " + goal);
-            return ResponseEntity.ok(goal);
-        } else {
-            log.warn("Kein aktuelles Ziel für Mitglied " + memberId + " am " + date + " gefunden.");
-            return ResponseEntity.notFound().build();
-        }
+    @GetMapping("/currentGoal/cache/stats")
+    public ResponseEntity<LongKeyCache.Stats> currentGoalCacheStats() {
+        return ResponseEntity.ok(goalTimelineCache.stats());
     }
 
     @PutMapping(value = "/{goalId}/add-workout", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Goal> addWorkoutToGoal(
+    public ResponseEntity<GoalWorkoutChange> addWorkoutToGoal(
             @PathVariable Integer goalId,
             @RequestBody Map<String, Object> payload
     ) {
-        try {
-            if (!payload.containsKey("workoutId")) {
-                log.error("Payload enthält keinen workoutId");
-                return ResponseEntity.badRequest().body(null);
-            }
-
-            Number workoutIdNum = (Number) payload.get("workoutId");
-            Integer workoutId = workoutIdNum.intValue();
-
-            Optional<Goal> goalOpt = goalRepository.findById(goalId);
-            if (goalOpt.isEmpty()) {
-                log.error("Goal mit ID {} nicht gefunden", goalId);
-                return ResponseEntity.notFound().build();
-            }
-            Goal existingGoal = goalOpt.get();
+        if (!(payload.get("workoutId") instanceof Number workoutId)) {
+            log.error("Payload enthält keinen workoutId");
+            return ResponseEntity.badRequest().build();
+        }
+        return singleWorkoutChange(goalId, List.of(workoutId.intValue()), List.of());
+    }
 
-            Optional<Workout> workoutToAdd = workoutRepository.findById(workoutId);
-            if (workoutToAdd.isEmpty()) {
-                log.error("Workout mit ID {} nicht gefunden", workoutId);
-                return ResponseEntity.badRequest().build();
+    @PatchMapping(value = "/{goalId}/workouts", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<GoalWorkoutChange> changeWorkouts(
+            @PathVariable Integer goalId,
+            @RequestBody Map<String, List<Integer>> payload
+    ) {
+        try {
+            GoalWorkoutChange change = goalWorkoutService.changeWorkouts(goalId,
+                    Objects.requireNonNullElse(payload.get("add"), List.of()),
+                    Objects.requireNonNullElse(payload.get("remove"), List.of()));
+            if (!change.unknownWorkoutIds().isEmpty()) {
+                log.warn("Unbekannte Workouts " + change.unknownWorkoutIds() + " für Goal " + goalId + " ignoriert");
             }
+            return ResponseEntity.ok(change);
+        } catch (NoSuchElementException e) {
+            log.error(e.getMessage());
+            return ResponseEntity.notFound().build();
+        }
+    }
 
-            existingGoal.getWorkouts().add(workoutToAdd.get());
-            goalRepository.save(existingGoal);
-            log.info("Workout {} zu Goal {} hinzugefügt", workoutId, goalId);
-
-            return ResponseEntity.ok(existingGoal);
-        } catch (Exception e) {
-            log.error("Fehler beim Hinzufügen des Workouts zum Ziel", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    @GetMapping("/{goalId}/recommendations")
+    public ResponseEntity<List<WorkoutRecommendation>> recommendations(
+            @PathVariable Integer goalId,
+            @RequestParam(required = false) Integer kcal,
+            @RequestParam(defaultValue = "60") int minutes,
+            @RequestParam(required = false) ExerciseLevel level,
+            @RequestParam(defaultValue = "3") int limit
+    ) {
+        try {
+            List<WorkoutRecommendation> recommendations = workoutRecommendationService.recommend(goalId, kcal,
+                    Math.max(minutes, 1), level, Math.min(Math.max(limit, 1), 10));
+            log.info("GET: " + recommendations.size() + " Workout-Empfehlungen für Goal " + goalId + " berechnet");
+            return ResponseEntity.ok(recommendations);
+        } catch (NoSuchElementException e) {
+            log.error(e.getMessage());
+            return ResponseEntity.notFound().build();
         }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Goal> getGoalById(@PathVariable Integer id) {
+    public ResponseEntity<GoalDto> getGoalById(@PathVariable Integer id) {
         Goal goal = goalRepository.getGoalByGoalId(id);
         if (goal != null) {
-            return ResponseEntity.ok(goal);
+            return ResponseEntity.ok(GoalDto.of(goal));
         } else {
             return ResponseEntity.notFound().build();
         }
     }
 
     @DeleteMapping("/{goalId}/remove-workout/{workoutId}")
-    public ResponseEntity<Goal> removeWorkoutFromGoal(
+    public ResponseEntity<GoalWorkoutChange> removeWorkoutFromGoal(
             @PathVariable Integer goalId,
             @PathVariable Integer workoutId) {
-        try {
-            Optional<Goal> goalOpt = goalRepository.findById(goalId);
-            if (goalOpt.isEmpty()) {
-                return ResponseEntity.notFound().build();
-            }
+        return singleWorkoutChange(goalId, List.of(), List.of(workoutId));
+    }
 
-            Goal goal = goalOpt.get();
-            Optional<Workout> workoutToRemove = workoutRepository.findById(workoutId);
-            if (workoutToRemove.isEmpty()) {
-                return ResponseEntity.badRequest().build();
+    private ResponseEntity<GoalWorkoutChange> singleWorkoutChange(Integer goalId, List<Integer> add, List<Integer> remove) {
+        try {
+            GoalWorkoutChange change = goalWorkoutService.changeWorkouts(goalId, add, remove);
+            if (!change.unknownWorkoutIds().isEmpty()) {
+                log.error("Workout mit ID " + change.unknownWorkoutIds() + " nicht gefunden");
+                return ResponseEntity.badRequest().body(change);
             }
-
-            goal.getWorkouts().removeIf(w -> w.getWorkoutId().equals(workoutId));
-            goalRepository.save(goal);
-
-            return ResponseEntity.ok(goal);
-        } catch (Exception e) {
-            log.error("Error removing workout from goal", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            return ResponseEntity.ok(change);
+        } catch (NoSuchElementException e) {
+            log.error(e.getMessage());
+            return ResponseEntity.notFound().build();
         }
     }
 
-
+    private static Goal goalFromPayload(Map<String, Object> payload) {
+        Goal goal = new Goal();
+        goal.setGoalName(Objects.requireNonNull((String) payload.get("goalName"), "goalName fehlt"));
+        goal.setKcal(((Number) Objects.requireNonNull(payload.get("kcal"), "kcal fehlt")).intValue());
+        goal.setDate(LocalDate.parse((String) Objects.requireNonNull(payload.get("date"), "date fehlt")));
+        goal.setUserId(((Number) Objects.requireNonNull(payload.get("userId"), "userId fehlt")).intValue());
+        return goal;
+    }
 }
@@ -1,71 +1,116 @@
 package at.kaindorf.backend.web;
 
+import at.kaindorf.backend.config.LoginTokenService;
+import at.kaindorf.backend.config.PasswordHashingService;
+import at.kaindorf.backend.dto.MemberDto;
 import at.kaindorf.backend.pojos.Member;
 import at.kaindorf.backend.repositorys.MemberRepository;
+import at.kaindorf.backend.services.ExportFormat;
+import at.kaindorf.backend.services.HistoryExportService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
-import java.util.Optional;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/member")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.AUTHORIZATION)
 @Slf4j
 @RequiredArgsConstructor
 public class MemberController {
     private final MemberRepository memberRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginTokenService tokenService;
+    private final HistoryExportService historyExportService;
 
     @GetMapping("/login")
-    public ResponseEntity<Member> login(
+    public CompletableFuture<ResponseEntity<MemberDto>> login(
             @RequestParam(name = "email", required = true) String email,
             @RequestParam(name = "password", required = true) String password
     ){
         log.info("GET: Member " + email + " versucht sich einzuloggen");
 
         Member member = memberRepository.findByEmail(email);
-        if (member != null && passwordEncoder.matches(password, member.getPassword())) {
-            return ResponseEntity.ok(member);
-        } else {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+
+        try {
+            return passwordHashingService.matches(password, member == null ? null : member.getPassword())
+                    .thenApply(matches -> matches
+                            ? ResponseEntity.ok()
+                                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenService.issue(member.getMemberId()))
+                                    .body(MemberDto.of(member))
+                            : ResponseEntity.status(HttpStatus.UNAUTHORIZED).<MemberDto>build());
+        } catch (RejectedExecutionException e) {
+            log.warn("Login von " + email + " abgewiesen, Passwort-Hashing ist ausgelastet");
+            return CompletableFuture.completedFuture(serviceUnavailable());
         }
     }
 
     @PostMapping("/register")
-    public ResponseEntity<Member> register(
+    public ResponseEntity<MemberDto> register(
             @RequestBody Member member
     ) {
-        member.setPassword(passwordEncoder.encode(member.getPassword()));
+        // bcrypt läuft im begrenzten Hashing-Pool, gespeichert wird danach im Request-Thread
+        try {
+            member.setPassword(passwordHashingService.encode(member.getPassword()).join());
+        } catch (RejectedExecutionException e) {
+            log.warn("Registrierung abgewiesen, Passwort-Hashing ist ausgelastet");
+            return serviceUnavailable();
+        }
 
-        Optional<Member> newMember = Optional.of(memberRepository.save(member));
+        try {
+            Member newMember = memberRepository.save(member);
 
-        if (newMember.isPresent()) {
             URI location = ServletUriComponentsBuilder
                     .fromCurrentRequest()
                     .path("/{id}")
-                    .buildAndExpand(newMember.get().getMemberId())
+                    .buildAndExpand(newMember.getMemberId())
                     .toUri();
 
-            return ResponseEntity.created(location).body(newMember.get());
+            return ResponseEntity.created(location).body(MemberDto.of(newMember));
+        } catch (DataIntegrityViolationException e) {
+            log.error("Email " + member.getEmail() + " ist bereits registriert");
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
-
-        return ResponseEntity.status(HttpStatus.CONFLICT).build();
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Member> updateMember(
+    public ResponseEntity<MemberDto> updateMember(
             @PathVariable Integer id,
-            @RequestBody Member member
+            @RequestBody Member member,
+            @AuthenticationPrincipal Integer memberId
     ){
+        if (!id.equals(memberId)) {
+            log.warn("PUT: Member " + memberId + " darf Member " + id + " nicht ändern");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
         log.info("PUT: Anmeldedaten aktualisiert");
 
-        return memberRepository.findById(id)
+        String encodedPassword = null;
+        if (member.getPassword() != null && !member.getPassword().isEmpty()) {
+            try {
+                encodedPassword = passwordHashingService.encode(member.getPassword()).join();
+            } catch (RejectedExecutionException e) {
+                log.warn("Änderung von Member " + id + " abgewiesen, Passwort-Hashing ist ausgelastet");
+                return serviceUnavailable();
+            }
+        }
+        String password = encodedPassword;
+
+        try {
+            return memberRepository.findById(id)
                 .map(existingMember -> {
                     existingMember.setFirstName(member.getFirstName());
                     existingMember.setLastName(member.getLastName());
@@ -73,13 +118,51 @@ public class MemberController {
                     existingMember.setPhone(member.getPhone());
                     existingMember.setWeight(member.getWeight());
 
-                    if (member.getPassword() != null && !member.getPassword().isEmpty()) {
-                        existingMember.setPassword(passwordEncoder.encode(member.getPassword()));
+                    if (password != null) {
+                        existingMember.setPassword(password);
                     }
 
                     Member updatedMember = memberRepository.save(existingMember);
-                    return ResponseEntity.ok(updatedMember);
+                    return ResponseEntity.ok(MemberDto.of(updatedMember));
                 })
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        } catch (DataIntegrityViolationException e) {
+            log.error("Email " + member.getEmail() + " ist bereits registriert");
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @GetMapping("/{id}/export")
+    public ResponseEntity<StreamingResponseBody> exportHistory(
+            @PathVariable Integer id,
+            @RequestParam(name = "format", defaultValue = "ndjson") String format,
+            @AuthenticationPrincipal Integer memberId
+    ){
+        if (!id.equals(memberId)) {
+            log.warn("GET: Member " + memberId + " darf die Daten von Member " + id + " nicht exportieren");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            log.error("Unbekanntes Exportformat " + format);
+            return ResponseEntity.badRequest().build();
+        }
+        log.info("GET: Export der Daten von Member " + id + " als " + exportFormat + " gestartet");
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("fitness2care-member-" + id + "." + exportFormat.extension())
+                        .build().toString())
+                .body(out -> historyExportService.export(id, exportFormat, out));
+    }
+
+    private static ResponseEntity<MemberDto> serviceUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+package at.kaindorf.backend.web;
+
+import at.kaindorf.backend.services.MealNutrition;
+import at.kaindorf.backend.services.NutritionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+@RestController
+@RequestMapping("/nutrition")
+@CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
+@Slf4j
+@RequiredArgsConstructor
+public class NutritionController {
+    private static final int MAX_MEAL_ITEMS = 100;
+
+    private final NutritionService nutritionService;
+
+    @PostMapping(value = "/meal", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MealNutrition> meal(
+            @RequestBody Map<String, Object> payload
+    ) {
+        long[] barcodes;
+        int[] grams;
+        Integer memberId;
+        Integer goalId;
+        boolean apply;
+        try {
+            memberId = ((Number) payload.get("memberId")).intValue();
+            goalId = payload.get("goalId") != null ? ((Number) payload.get("goalId")).intValue() : null;
+            apply = Boolean.TRUE.equals(payload.get("apply"));
+
+            List<?> items = (List<?>) payload.get("items");
+            if (items == null || items.isEmpty() || items.size() > MAX_MEAL_ITEMS) {
+                log.error("Fehler, eine Mahlzeit braucht 1 bis " + MAX_MEAL_ITEMS + " Einträge");
+                return ResponseEntity.badRequest().build();
+            }
+            barcodes = new long[items.size()];
+            grams = new int[items.size()];
+            for (int i = 0; i < items.size(); i++) {
+                Map<?, ?> item = (Map<?, ?>) items.get(i);
+                barcodes[i] = ((Number) item.get("barcode")).longValue();
+                grams[i] = ((Number) item.get("grams")).intValue();
+            }
+        } catch (ClassCastException | NullPointerException e) {
+            log.error("Fehler, ungültige Mahlzeit " + payload);
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            MealNutrition meal = nutritionService.meal(memberId, goalId, apply, barcodes, grams);
+            if (apply && !meal.applied()) {
+                log.error("Mahlzeit nicht gespeichert, unbekannte Barcodes " + meal.unknownBarcodes());
+                return ResponseEntity.badRequest().body(meal);
+            }
+            log.info("POST: Mahlzeit mit " + meal.items().size() + " Produkten und " + meal.totalKcal() + " kcal berechnet");
+            return ResponseEntity.ok(meal);
+        } catch (NoSuchElementException e) {
+            log.error(e.getMessage());
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            log.error(e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -1,16 +1,19 @@
 package at.kaindorf.backend.web;
 
-import at.kaindorf.backend.pojos.Goal;
-import at.kaindorf.backend.pojos.Product;
-import at.kaindorf.backend.repositorys.MemberRepository;
-import at.kaindorf.backend.repositorys.ProductRepository;
+import at.kaindorf.backend.cache.LongKeyCache;
+import at.kaindorf.backend.cache.ProductLookupService;
+import at.kaindorf.backend.dto.ProductDto;
+import at.kaindorf.backend.pojos.ProductSummary;
+import at.kaindorf.backend.search.PrefixSuggester;
+import at.kaindorf.backend.search.ProductSearch;
+import at.kaindorf.backend.search.ProductSlice;
+import at.kaindorf.backend.search.ProductSuggestService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -21,16 +24,17 @@ import java.util.List;
 @Slf4j
 @RequiredArgsConstructor
 public class ProductController {
-    private final ProductRepository productRepository;
+    private final ProductSearch productSearch;
+    private final ProductSuggestService productSuggestService;
+    private final ProductLookupService productLookupService;
 
     @GetMapping("/filterByName/{name}")
-    public ResponseEntity<Page<Product>> goals(
+    public ResponseEntity<Page<ProductSummary>> goals(
             @PathVariable("name") String productName,
             @RequestParam(defaultValue = "0") int page
 
     ){
-        Pageable pageable = PageRequest.of(page, 50);
-        Page<Product> product = productRepository.findByProductNameContainingIgnoreCase(productName, pageable);
+        Page<ProductSummary> product = productSearch.searchByName(productName, PageRequest.of(page, 50));
 
         if(product != null){
             log.info("GET: Alle Produkte die den Namen " + productName + " beinhalten wurden gefunden");
@@ -41,4 +45,63 @@ public class ProductController {
         return ResponseEntity.ok(product);
     }
 
+    @GetMapping("/searchByName/{name}")
+    public ResponseEntity<ProductSlice> searchByName(
+            @PathVariable("name") String productName,
+            @RequestParam(required = false) String after
+    ){
+        try {
+            ProductSlice slice = productSearch.searchByNameAfter(productName, after, 50);
+            log.info("GET: " + slice.content().size() + " Produkte mit dem Namen " + productName + " gefunden");
+            return ResponseEntity.ok(slice);
+        } catch (IllegalArgumentException e) {
+            log.error("Fehler, ungültiger Cursor " + after);
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            log.warn(e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<PrefixSuggester.Suggestion>> suggest(
+            @RequestParam("prefix") String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    ){
+        try {
+            return ResponseEntity.ok(productSuggestService.suggest(prefix, Math.min(Math.max(limit, 1), 50)));
+        } catch (IllegalStateException e) {
+            log.warn(e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @GetMapping("/{barcode:\\d+}")
+    public ResponseEntity<ProductDto> productByBarcode(
+            @PathVariable("barcode") long barcode
+    ){
+        return productLookupService.findByBarcode(barcode)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> {
+                    log.error("Fehler, Produkt mit dem Barcode " + barcode + " wurde nicht gefunden");
+                    return ResponseEntity.notFound().build();
+                });
+    }
+
+    @GetMapping("/barcodes")
+    public ResponseEntity<List<ProductDto>> productsByBarcodes(
+            @RequestParam("ids") long[] barcodes
+    ){
+        if (barcodes.length > 100) {
+            log.error("Fehler, maximal 100 Barcodes pro Anfrage erlaubt");
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(productLookupService.findByBarcodes(barcodes));
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<LongKeyCache.Stats> cacheStats(){
+        return ResponseEntity.ok(productLookupService.stats());
+    }
+
 }
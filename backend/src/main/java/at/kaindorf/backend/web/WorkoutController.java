@@ -1,17 +1,32 @@
 package at.kaindorf.backend.web;
 
+import at.kaindorf.backend.cache.CatalogCache;
+import at.kaindorf.backend.dto.WorkoutDto;
+import at.kaindorf.backend.pojos.Exercise;
 import at.kaindorf.backend.pojos.Workout;
+import at.kaindorf.backend.repositorys.ExerciseRepository;
 import at.kaindorf.backend.repositorys.WorkoutRepository;
+import at.kaindorf.backend.services.BatchCreateService;
+import at.kaindorf.backend.services.BatchItemResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.Optional;
 
 @RestController
@@ -21,21 +36,35 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class WorkoutController {
     private final WorkoutRepository workoutRepository;
+    private final CatalogCache catalogCache;
+    private final ExerciseRepository exerciseRepository;
+    private final BatchCreateService batchCreateService;
 
     @GetMapping("/workouts")
-    public ResponseEntity<List<Workout>> workouts() {
-        List<Workout> workouts = workoutRepository.getAllWorkouts();
-        if (workouts != null) {
-            log.info("GET: Alle vorhandenen Workouts werden angezeigt");
-        } else {
-            log.error("Fehler, Workouts wurden nicht gefunden");
+    public ResponseEntity<byte[]> workouts(WebRequest request) {
+        CatalogCache.Catalog workouts = catalogCache.workouts();
+        if (request.checkNotModified(workouts.eTag())) {
+            log.info("GET: Workouts unverändert, 304");
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(workouts.eTag()).build();
         }
 
-        return ResponseEntity.ok(workouts);
+        CatalogCache.Snapshot snapshot = workouts.get();
+        log.info("GET: Alle vorhandenen Workouts werden angezeigt");
+
+        return ResponseEntity.ok()
+                .eTag(snapshot.eTag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.json());
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<CatalogCache.Stats> cacheStats() {
+        return ResponseEntity.ok(catalogCache.workouts().stats());
     }
 
     @GetMapping("/workout/{workoutName}")
-    public ResponseEntity<Workout> workoutByName(
+    public ResponseEntity<WorkoutDto> workoutByName(
             @PathVariable("workoutName") String workoutName
     ){
         Workout workout = workoutRepository.getWorkoutByWorkoutName(workoutName);
@@ -46,15 +75,16 @@ public class WorkoutController {
             log.error("Fehler, Workout wurde nicht gefunden");
         }
 
-        return ResponseEntity.ok(workout);
+        return ResponseEntity.ok(workout == null ? null : WorkoutDto.of(workout));
     }
 
     @PostMapping("/addWorkout")
-    public ResponseEntity<Workout> addWorkout(
+    public ResponseEntity<WorkoutDto> addWorkout(
             @RequestBody Workout workout
     ) {
 
         Optional<Workout> newWorkout = Optional.of(workoutRepository.save(workout));
+        catalogCache.invalidate();
 
         if(newWorkout.isPresent()){
             URI location = ServletUriComponentsBuilder
@@ -66,14 +96,36 @@ public class WorkoutController {
             log.info("POST: Neues Workout wurde hinzugefügt");
             log.info(String.valueOf(newWorkout));
 
-            return ResponseEntity.created(location).body(newWorkout.get());
+            return ResponseEntity.created(location).body(WorkoutDto.of(newWorkout.get()));
         }
 
         return ResponseEntity.status(HttpStatus.CONFLICT).build();
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> addWorkouts(
+            @RequestBody List<Workout> workouts
+    ) {
+        Set<Integer> exerciseIds = new HashSet<>();
+        for (Workout workout : workouts) {
+            if (workout != null && workout.getExercises() != null) {
+                workout.getExercises().stream().filter(Objects::nonNull).map(Exercise::getExerciseId)
+                        .filter(Objects::nonNull).forEach(exerciseIds::add);
+            }
+        }
+        Map<Integer, Exercise> exercises = exerciseRepository.findAllById(exerciseIds).stream()
+                .collect(Collectors.toMap(Exercise::getExerciseId, Function.identity()));
+
+        List<BatchItemResult> results = batchCreateService.persistAll(workouts,
+                workout -> resolveExercises(workout, exercises), Workout::getWorkoutId, Workout::setWorkoutId);
+        catalogCache.invalidate();
+        log.info("POST: " + results.stream().filter(r -> r.error() == null).count() + " von " + workouts.size() + " Workouts hinzugefügt");
+
+        return ResponseEntity.ok(results);
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<Workout> updateWorkout(
+    public ResponseEntity<WorkoutDto> updateWorkout(
             @PathVariable Integer id,
             @RequestBody Workout workout
     ){
@@ -87,7 +139,8 @@ public class WorkoutController {
                     existingWorkout.setDescription(workout.getDescription());
 
                     Workout updatedWorkout = workoutRepository.save(existingWorkout);
-                    return ResponseEntity.ok(updatedWorkout);
+                    catalogCache.invalidate();
+                    return ResponseEntity.ok(WorkoutDto.of(updatedWorkout));
                 })
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
     }
@@ -98,6 +151,7 @@ public class WorkoutController {
     {
         if (workoutRepository.existsById(id)) {
             workoutRepository.deleteById(id);
+            catalogCache.invalidate();
             log.info("DELETE: Workout mit der ID " + id + " wurde gelöscht.");
             return ResponseEntity.noContent().build();
         } else {
@@ -106,15 +160,34 @@ public class WorkoutController {
         }
     }
     @GetMapping("/workout/details/{workoutName}")
-    public ResponseEntity<Workout> getWorkoutDetails(@PathVariable("workoutName") String workoutName) {
+    public ResponseEntity<WorkoutDto> getWorkoutDetails(@PathVariable("workoutName") String workoutName) {
         Workout workout = workoutRepository.getWorkoutWithExercisesByWorkoutName(workoutName);
-        return ResponseEntity.ok(workout);
+        return ResponseEntity.ok(workout == null ? null : WorkoutDto.of(workout));
     }
     @GetMapping("/workout/details/id/{workoutId}")
-    public ResponseEntity<Workout> getWorkoutDetailsById(@PathVariable("workoutId") Integer workoutId) {
+    public ResponseEntity<WorkoutDto> getWorkoutDetailsById(@PathVariable("workoutId") Integer workoutId) {
         Workout workout = workoutRepository.getWorkoutWithExercisesByWorkoutId(workoutId);
-        return ResponseEntity.ok(workout);
+        return ResponseEntity.ok(workout == null ? null : WorkoutDto.of(workout));
     }
 
-
+    private static String resolveExercises(Workout workout, Map<Integer, Exercise> exercises) {
+        if (workout.getWorkoutId() != null) {
+            return "workoutId darf nicht gesetzt sein";
+        }
+        if (workout.getTime() == null || workout.getWorkoutName() == null || workout.getDescription() == null) {
+            return "Pflichtfelder fehlen";
+        }
+        List<Exercise> resolved = new ArrayList<>();
+        if (workout.getExercises() != null) {
+            for (Exercise exercise : workout.getExercises()) {
+                Exercise existing = exercise == null ? null : exercises.get(exercise.getExerciseId());
+                if (existing == null) {
+                    return "Exercise " + (exercise == null ? null : exercise.getExerciseId()) + " existiert nicht";
+                }
+                resolved.add(existing);
+            }
+        }
+        workout.setExercises(resolved);
+        return null;
+    }
 }
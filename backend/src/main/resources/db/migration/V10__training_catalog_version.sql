@@ -0,0 +1,29 @@
+-- Version des Übungs- und Workout-Katalogs, per Trigger bei jeder Änderung erhöht.
+-- Jeder Knoten vergleicht sie regelmäßig mit seinem Stand und verwirft seinen Katalog-Cache, wenn ein anderer Knoten geschrieben hat.
+CREATE TABLE IF NOT EXISTS training_catalog_version (
+    id      INTEGER PRIMARY KEY CHECK (id = 1),
+    version BIGINT  NOT NULL
+);
+INSERT INTO training_catalog_version (id, version) VALUES (1, 1) ON CONFLICT (id) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION bump_training_catalog_version() RETURNS trigger AS $$
+BEGIN
+    UPDATE training_catalog_version SET version = version + 1 WHERE id = 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS exercise_training_catalog_version ON exercise;
+CREATE TRIGGER exercise_training_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON exercise
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_training_catalog_version();
+
+DROP TRIGGER IF EXISTS workout_training_catalog_version ON workout;
+CREATE TRIGGER workout_training_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON workout
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_training_catalog_version();
+
+DROP TRIGGER IF EXISTS workout_exercise_training_catalog_version ON workout_exercise;
+CREATE TRIGGER workout_exercise_training_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON workout_exercise
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_training_catalog_version();
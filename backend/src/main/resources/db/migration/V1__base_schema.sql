@@ -0,0 +1,57 @@
+CREATE SEQUENCE IF NOT EXISTS exercise_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS goal_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS member_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS workout_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS exercise (
+    exercise_id    INTEGER      NOT NULL PRIMARY KEY,
+    body_part      VARCHAR(255) NOT NULL,
+    description    VARCHAR(255) NOT NULL,
+    exercise_level VARCHAR(255) NOT NULL CHECK (exercise_level IN ('EASY', 'MEDIUM', 'HARD')),
+    exercise_name  VARCHAR(255) NOT NULL,
+    imageurl       VARCHAR(255) NOT NULL,
+    kcal           INTEGER      NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS workout (
+    workout_id   INTEGER      NOT NULL PRIMARY KEY,
+    description  VARCHAR(255) NOT NULL,
+    time         INTEGER      NOT NULL,
+    workout_name VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS workout_exercise (
+    workout_id  INTEGER NOT NULL REFERENCES workout (workout_id),
+    exercise_id INTEGER NOT NULL REFERENCES exercise (exercise_id)
+);
+
+CREATE TABLE IF NOT EXISTS goal (
+    goal_id   INTEGER      NOT NULL PRIMARY KEY,
+    date      DATE         NOT NULL,
+    goal_name VARCHAR(255) NOT NULL,
+    kcal      INTEGER      NOT NULL,
+    user_id   INTEGER      NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS goal_workout (
+    goal_id    INTEGER NOT NULL REFERENCES goal (goal_id),
+    workout_id INTEGER NOT NULL REFERENCES workout (workout_id)
+);
+
+CREATE TABLE IF NOT EXISTS member (
+    member_id  INTEGER      NOT NULL PRIMARY KEY,
+    email      VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name  VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    phone      VARCHAR(255) NOT NULL,
+    weight     INTEGER      NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS product (
+    barcode        BIGINT       NOT NULL PRIMARY KEY,
+    ingredients    TEXT,
+    kcal_100g      INTEGER      NOT NULL,
+    origin_country VARCHAR(255) NOT NULL,
+    product_name   TEXT
+);
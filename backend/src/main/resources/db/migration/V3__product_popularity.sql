@@ -0,0 +1 @@
+ALTER TABLE product ADD COLUMN IF NOT EXISTS popularity INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,30 @@
+CREATE SEQUENCE IF NOT EXISTS consumption_entry_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS consumption_entry (
+    entry_id          BIGINT       NOT NULL PRIMARY KEY,
+    member_id         INTEGER      NOT NULL REFERENCES member (member_id),
+    goal_id           INTEGER      REFERENCES goal (goal_id) ON DELETE SET NULL,
+    barcode           BIGINT       NOT NULL REFERENCES product (barcode),
+    product_name      VARCHAR(255) NOT NULL,
+    grams             INTEGER      NOT NULL,
+    kcal              INTEGER      NOT NULL,
+    date              DATE         NOT NULL,
+    consumed_at       TIMESTAMP(6) NOT NULL,
+    reversed_entry_id BIGINT       UNIQUE REFERENCES consumption_entry (entry_id)
+);
+
+CREATE INDEX IF NOT EXISTS consumption_entry_member_date_idx ON consumption_entry (member_id, date);
+
+CREATE TABLE IF NOT EXISTS daily_calories (
+    member_id INTEGER NOT NULL REFERENCES member (member_id),
+    date      DATE    NOT NULL,
+    kcal      BIGINT  NOT NULL,
+    entries   INTEGER NOT NULL,
+    PRIMARY KEY (member_id, date)
+);
+
+CREATE TABLE IF NOT EXISTS goal_calories (
+    goal_id INTEGER NOT NULL PRIMARY KEY REFERENCES goal (goal_id) ON DELETE CASCADE,
+    kcal    BIGINT  NOT NULL,
+    entries INTEGER NOT NULL
+);
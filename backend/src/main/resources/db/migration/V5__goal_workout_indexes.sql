@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS goal_workout_goal_idx ON goal_workout (goal_id, workout_id);
+CREATE INDEX IF NOT EXISTS workout_exercise_workout_idx ON workout_exercise (workout_id, exercise_id);
@@ -0,0 +1 @@
+CREATE UNIQUE INDEX IF NOT EXISTS member_email_key ON member (email);
@@ -0,0 +1,6 @@
+DELETE FROM goal_workout a
+    USING goal_workout b
+    WHERE a.ctid < b.ctid AND a.goal_id = b.goal_id AND a.workout_id = b.workout_id;
+
+DROP INDEX IF EXISTS goal_workout_goal_idx;
+ALTER TABLE goal_workout ADD CONSTRAINT goal_workout_pkey PRIMARY KEY (goal_id, workout_id);
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS goal_user_date_idx ON goal (user_id, date, goal_id);
@@ -0,0 +1,19 @@
+-- Wird bei jeder schreibenden Anweisung auf product erhöht, auch bei COPY/Merge des Dump-Imports und manuellem SQL.
+-- Der Produktkatalog-Snapshot speichert den Stand, aus dem er erzeugt wurde, und wird beim Start damit verglichen.
+CREATE TABLE IF NOT EXISTS catalog_version (
+    id      INTEGER PRIMARY KEY CHECK (id = 1),
+    version BIGINT  NOT NULL
+);
+INSERT INTO catalog_version (id, version) VALUES (1, 1) ON CONFLICT (id) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION bump_catalog_version() RETURNS trigger AS $$
+BEGIN
+    UPDATE catalog_version SET version = version + 1 WHERE id = 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS product_catalog_version ON product;
+CREATE TRIGGER product_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON product
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_catalog_version();
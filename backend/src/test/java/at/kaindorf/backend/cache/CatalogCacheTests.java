@@ -0,0 +1,74 @@
+package at.kaindorf.backend.cache;
+
+import at.kaindorf.backend.pojos.Exercise;
+import at.kaindorf.backend.pojos.ExerciseLevel;
+import at.kaindorf.backend.repositorys.ExerciseRepository;
+import at.kaindorf.backend.repositorys.WorkoutRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class CatalogCacheTests {
+    private final ExerciseRepository exerciseRepository = mock(ExerciseRepository.class);
+    private final CatalogCache cache = new CatalogCache(exerciseRepository, mock(WorkoutRepository.class),
+            new ObjectMapper(), mock(PlatformTransactionManager.class), Duration.ZERO, new SimpleMeterRegistry());
+
+    @Test
+    void servesSerializedCatalogFromCacheUntilInvalidated() {
+        when(exerciseRepository.getExercise()).thenReturn(List.of(exercise("Squat")));
+
+        CatalogCache.Snapshot first = cache.exercises().get();
+        CatalogCache.Snapshot second = cache.exercises().get();
+
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first.json(), StandardCharsets.UTF_8)).contains("Squat");
+        verify(exerciseRepository, times(1)).getExercise();
+
+        when(exerciseRepository.getExercise()).thenReturn(List.of(exercise("Lunge")));
+        cache.invalidate();
+        CatalogCache.Snapshot reloaded = cache.exercises().get();
+
+        assertThat(new String(reloaded.json(), StandardCharsets.UTF_8)).contains("Lunge");
+        assertThat(reloaded.eTag()).isNotEqualTo(first.eTag()).isEqualTo(cache.exercises().eTag());
+
+        CatalogCache.Stats stats = cache.exercises().stats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(2);
+        assertThat(stats.loads()).isEqualTo(2);
+        assertThat(stats.hitRatio()).isEqualTo(1 / 3.0);
+    }
+
+    @Test
+    void eTagIsAvailableWithoutLoading() {
+        String eTag = cache.workouts().eTag();
+
+        assertThat(eTag).startsWith("\"workouts-").endsWith("-0\"");
+        assertThat(cache.workouts().stats().loads()).isZero();
+    }
+
+    @Test
+    void reloadsWhenAnotherNodeChangedTheCatalog() {
+        when(exerciseRepository.trainingCatalogVersion()).thenReturn(4L);
+        when(exerciseRepository.getExercise()).thenReturn(List.of(exercise("Squat")));
+        CatalogCache.Snapshot first = cache.exercises().get();
+        assertThat(cache.exercises().get()).isSameAs(first);
+
+        when(exerciseRepository.trainingCatalogVersion()).thenReturn(5L);
+        when(exerciseRepository.getExercise()).thenReturn(List.of(exercise("Lunge")));
+
+        assertThat(new String(cache.exercises().get().json(), StandardCharsets.UTF_8)).contains("Lunge");
+        verify(exerciseRepository, times(2)).getExercise();
+    }
+
+    private static Exercise exercise(String name) {
+        return new Exercise(name, ExerciseLevel.values()[0], "Beine", "url", 50, "Beschreibung");
+    }
+}
@@ -0,0 +1,51 @@
+package at.kaindorf.backend.cache;
+
+import at.kaindorf.backend.pojos.Goal;
+import at.kaindorf.backend.repositorys.GoalRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class GoalTimelineCacheTests {
+    private final GoalRepository goalRepository = mock(GoalRepository.class);
+    private final GoalTimelineCache cache = new GoalTimelineCache(goalRepository, 16, new SimpleMeterRegistry());
+
+    @Test
+    void findsEarliestGoalOnOrAfterDate() {
+        when(goalRepository.findByUserIdOrderByDateAscGoalIdAsc(7)).thenReturn(List.of(
+                goal(1, "2025-03-01"), goal(2, "2025-03-10"), goal(3, "2025-03-10"), goal(4, "2025-04-01")));
+
+        assertThat(cache.currentGoal(7, LocalDate.parse("2025-02-01"))).get().extracting(GoalTimelineCache.Entry::goalId).isEqualTo(1);
+        assertThat(cache.currentGoal(7, LocalDate.parse("2025-03-01"))).get().extracting(GoalTimelineCache.Entry::goalId).isEqualTo(1);
+        assertThat(cache.currentGoal(7, LocalDate.parse("2025-03-02"))).get().extracting(GoalTimelineCache.Entry::goalId).isEqualTo(2);
+        assertThat(cache.currentGoal(7, LocalDate.parse("2025-03-10"))).get().extracting(GoalTimelineCache.Entry::goalId).isEqualTo(2);
+        assertThat(cache.currentGoal(7, LocalDate.parse("2025-03-11"))).get().extracting(GoalTimelineCache.Entry::goalId).isEqualTo(4);
+        assertThat(cache.currentGoal(7, LocalDate.parse("2025-04-02"))).isEmpty();
+
+        verify(goalRepository, times(1)).findByUserIdOrderByDateAscGoalIdAsc(7);
+        assertThat(cache.stats().hits()).isEqualTo(5);
+    }
+
+    @Test
+    void reloadsTimelineAfterInvalidation() {
+        when(goalRepository.findByUserIdOrderByDateAscGoalIdAsc(7)).thenReturn(List.of());
+        assertThat(cache.currentGoal(7, LocalDate.parse("2025-03-01"))).isEmpty();
+
+        when(goalRepository.findByUserIdOrderByDateAscGoalIdAsc(7)).thenReturn(List.of(goal(5, "2025-03-05")));
+        cache.invalidate(7);
+
+        assertThat(cache.currentGoal(7, LocalDate.parse("2025-03-01"))).get().extracting(GoalTimelineCache.Entry::kcal).isEqualTo(2000);
+        verify(goalRepository, times(2)).findByUserIdOrderByDateAscGoalIdAsc(7);
+    }
+
+    private static Goal goal(int goalId, String date) {
+        Goal goal = new Goal("Ziel " + goalId, LocalDate.parse(date), 7, 2000);
+        goal.setGoalId(goalId);
+        return goal;
+    }
+}
@@ -0,0 +1,57 @@
+package at.kaindorf.backend.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongKeyCacheTests {
+
+    @Test
+    void countsHitsAndMisses() {
+        LongKeyCache<String> cache = new LongKeyCache<>(64);
+        cache.put(5391511420780L, "Chowder");
+
+        assertThat(cache.get(5391511420780L)).isEqualTo("Chowder");
+        assertThat(cache.get(42L)).isNull();
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void staysWithinCapacityAndKeepsRecentlyUsedEntries() {
+        LongKeyCache<Long> cache = new LongKeyCache<>(16 * 4);
+        for (long key = 0; key < 10_000; key++) {
+            cache.put(key, key);
+            cache.get(7L);
+        }
+
+        assertThat(cache.stats().size()).isLessThanOrEqualTo(64);
+        assertThat(cache.stats().evictions()).isGreaterThan(0);
+        assertThat(cache.get(7L)).isEqualTo(7L);
+        assertThat(cache.get(9_999L)).isEqualTo(9_999L);
+    }
+
+    @Test
+    void invalidatesAndReusesSlots() {
+        LongKeyCache<String> cache = new LongKeyCache<>(16);
+        cache.put(1L, "a");
+        cache.invalidate(1L);
+        cache.put(2L, "b");
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(2L)).isEqualTo("b");
+        assertThat(cache.stats().size()).isEqualTo(1);
+    }
+
+    @Test
+    void dropsValuesLoadedBeforeAnInvalidation() {
+        LongKeyCache<String> cache = new LongKeyCache<>(16);
+        long stamp = cache.stamp(1L);
+        cache.invalidate(1L);
+
+        assertThat(cache.putIfUnchanged(1L, "alt", stamp)).isFalse();
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.putIfUnchanged(1L, "neu", cache.stamp(1L))).isTrue();
+        assertThat(cache.get(1L)).isEqualTo("neu");
+    }
+}
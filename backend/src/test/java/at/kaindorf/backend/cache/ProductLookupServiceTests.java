@@ -0,0 +1,111 @@
+package at.kaindorf.backend.cache;
+
+import at.kaindorf.backend.dto.ProductDto;
+import at.kaindorf.backend.pojos.Product;
+import at.kaindorf.backend.pojos.ProductCatalogRow;
+import at.kaindorf.backend.repositorys.ProductRepository;
+import at.kaindorf.backend.search.CatalogSnapshot;
+import at.kaindorf.backend.search.CatalogSnapshotLoadedEvent;
+import at.kaindorf.backend.search.CatalogSnapshotService;
+import at.kaindorf.backend.search.CatalogSnapshotWriter;
+import at.kaindorf.backend.search.ProductChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductLookupServiceTests {
+    @TempDir
+    Path tempDir;
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final CatalogSnapshotService snapshotService = mock(CatalogSnapshotService.class);
+    private final ProductLookupService service = new ProductLookupService(productRepository, snapshotService, 16,
+            new SimpleMeterRegistry());
+
+    @BeforeEach
+    void snapshot() throws IOException {
+        when(snapshotService.current()).thenReturn(Optional.of(snapshot("v1", "Müsli")));
+    }
+
+    private CatalogSnapshot snapshot(String version, String name) throws IOException {
+        Path file = tempDir.resolve("catalog.snap." + version);
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file)) {
+            writer.add(new ProductCatalogRow(4000417025005L, name, 362, "Germany", "Hafer", 5));
+            writer.commit();
+        }
+        return CatalogSnapshot.open(file);
+    }
+
+    @Test
+    void servesKnownBarcodesFromTheSnapshot() {
+        ProductDto product = service.findByBarcode(4000417025005L).orElseThrow();
+
+        assertThat(product.productName()).isEqualTo("Müsli");
+        assertThat(product.ingredients()).isEqualTo("Hafer");
+        assertThat(service.findByBarcodes(new long[]{4000417025005L})).extracting(ProductDto::kcal_100g).containsExactly(362);
+        verify(productRepository, never()).findById(any());
+        verify(productRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void asksDatabaseForBarcodesMissingFromTheSnapshot() {
+        Product added = new Product(5391511420780L, "Chowder", 82, "Ireland", "Fish", 0);
+        when(productRepository.findAllById(List.of(5391511420780L))).thenReturn(List.of(added));
+
+        assertThat(service.findByBarcodes(new long[]{5391511420780L, 4000417025005L}))
+                .extracting(ProductDto::productName).containsExactly("Chowder", "Müsli");
+    }
+
+    @Test
+    void asksDatabaseForChangedProductsUntilANewerSnapshotIsLoaded() throws Exception {
+        Product changed = new Product(4000417025005L, "Müsli Neu", 380, "Germany", "Hafer", 5);
+        when(productRepository.findById(4000417025005L)).thenReturn(Optional.of(changed));
+        service.productChanged(new ProductChangedEvent(changed));
+
+        assertThat(service.findByBarcode(4000417025005L)).map(ProductDto::productName).contains("Müsli Neu");
+
+        Thread.sleep(2);
+        CatalogSnapshot newer = snapshot("v2", "Müsli aus Snapshot");
+        when(snapshotService.current()).thenReturn(Optional.of(newer));
+        service.snapshotLoaded(new CatalogSnapshotLoadedEvent(newer));
+
+        assertThat(service.findByBarcode(4000417025005L)).map(ProductDto::productName).contains("Müsli aus Snapshot");
+    }
+
+    @Test
+    void ignoresSnapshotOlderThanTheLastImport() {
+        when(productRepository.findById(4000417025005L)).thenReturn(Optional.empty());
+        service.catalogImported();
+
+        assertThat(service.findByBarcode(4000417025005L)).isEmpty();
+    }
+
+    @Test
+    void doesNotCacheAProductInvalidatedWhileItWasLoaded() {
+        when(snapshotService.current()).thenReturn(Optional.empty());
+        Product stale = new Product(5391511420780L, "Chowder", 82, "Ireland", "Fish", 0);
+        Product fresh = new Product(5391511420780L, "Chowder Neu", 90, "Ireland", "Fish", 0);
+        when(productRepository.findById(5391511420780L)).thenAnswer(invocation -> {
+            service.productChanged(new ProductChangedEvent(fresh));
+            return Optional.of(stale);
+        }).thenReturn(Optional.of(fresh));
+
+        assertThat(service.findByBarcode(5391511420780L)).map(ProductDto::productName).contains("Chowder");
+        assertThat(service.findByBarcode(5391511420780L)).map(ProductDto::productName).contains("Chowder Neu");
+        verify(productRepository, times(2)).findById(5391511420780L);
+    }
+}
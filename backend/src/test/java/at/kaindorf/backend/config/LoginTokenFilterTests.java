@@ -0,0 +1,82 @@
+package at.kaindorf.backend.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginTokenFilterTests {
+    private static final Instant NOW = Instant.parse("2025-01-01T08:00:00Z");
+
+    private final LoginTokenService tokenService = at(NOW);
+    private final LoginTokenFilter filter = new LoginTokenFilter(tokenService);
+
+    private static LoginTokenService at(Instant instant) {
+        LoginProperties properties = new LoginProperties();
+        properties.setTokenSecret(Base64.getEncoder().encodeToString(new byte[32]));
+        properties.setTokenTtl(Duration.ofMinutes(15));
+        return new LoginTokenService(properties, Clock.fixed(instant, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Authentication filter(String authorization, MockHttpServletResponse response) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/workout/workouts");
+        if (authorization != null) {
+            request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        Authentication[] seen = new Authentication[1];
+        filter.doFilter(request, response, new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest req, jakarta.servlet.ServletResponse res) {
+                seen[0] = SecurityContextHolder.getContext().getAuthentication();
+            }
+        });
+        return seen[0];
+    }
+
+    @Test
+    void authenticatesValidToken() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Authentication authentication = filter("Bearer " + tokenService.issue(42), response);
+
+        assertThat(authentication.getPrincipal()).isEqualTo(42);
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void expiredTokenContinuesAnonymously() throws Exception {
+        String expired = at(NOW.minus(Duration.ofHours(1))).issue(42);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Authentication authentication = filter("Bearer " + expired, response);
+
+        assertThat(authentication).isNull();
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void malformedTokenContinuesAnonymously() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(filter("Bearer kaputt", response)).isNull();
+        assertThat(filter(null, response)).isNull();
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+}
@@ -0,0 +1,61 @@
+package at.kaindorf.backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginTokenServiceTests {
+    private static final Instant NOW = Instant.parse("2025-01-01T08:00:00Z");
+
+    private static LoginProperties properties() {
+        LoginProperties properties = new LoginProperties();
+        properties.setTokenSecret(Base64.getEncoder().encodeToString(new byte[32]));
+        properties.setTokenTtl(Duration.ofMinutes(15));
+        return properties;
+    }
+
+    private static LoginTokenService at(Instant instant) {
+        return new LoginTokenService(properties(), Clock.fixed(instant, ZoneOffset.UTC));
+    }
+
+    @Test
+    void verifiesIssuedToken() {
+        String token = at(NOW).issue(42);
+
+        assertThat(at(NOW.plusSeconds(60)).verify(token)).hasValue(42);
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        String token = at(NOW).issue(42);
+
+        assertThat(at(NOW.plus(Duration.ofMinutes(15))).verify(token)).isEmpty();
+    }
+
+    @Test
+    void rejectsTamperedAndMalformedTokens() {
+        LoginTokenService service = at(NOW);
+        String token = service.issue(42);
+        String otherPayload = service.issue(43).split("\\.")[0];
+
+        assertThat(service.verify(otherPayload + "." + token.split("\\.")[1])).isEmpty();
+        assertThat(service.verify(token + "x")).isEmpty();
+        assertThat(service.verify("kein-token")).isEmpty();
+        assertThat(service.verify("a.b.c")).isEmpty();
+    }
+
+    @Test
+    void rejectsTokenSignedWithOtherSecret() {
+        LoginProperties other = properties();
+        other.setTokenSecret(Base64.getEncoder().encodeToString("ein anderes geheimnis mit 32 byte".getBytes()));
+        String token = new LoginTokenService(other, Clock.fixed(NOW, ZoneOffset.UTC)).issue(42);
+
+        assertThat(at(NOW).verify(token)).isEmpty();
+    }
+}
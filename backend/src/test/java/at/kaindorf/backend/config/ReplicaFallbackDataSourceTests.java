@@ -0,0 +1,107 @@
+package at.kaindorf.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class ReplicaFallbackDataSourceTests {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-01-01T08:00:00Z"), ZoneOffset.UTC);
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private ReplicaFallbackDataSource readOnly;
+
+    private DataSource routing(Duration retryAfter) throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+        readOnly = new ReplicaFallbackDataSource(replica, primary, retryAfter, CLOCK);
+        routing.setReadOnlyDataSource(readOnly);
+        routing.setDefaultAutoCommit(true);
+        routing.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return routing;
+    }
+
+    private static SQLTransientConnectionException replicaDown() {
+        return new SQLTransientConnectionException("replica - Connection is not available, request timed out after 2000ms",
+                "08001", new SQLException("Connection refused", "08001"));
+    }
+
+    private static void use(DataSource dataSource, boolean readOnly) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(readOnly);
+            connection.createStatement();
+        }
+    }
+
+    @Test
+    void routesReadOnlyConnectionsToTheReplica() throws SQLException {
+        DataSource routing = routing(Duration.ofSeconds(30));
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        use(routing, true);
+        use(routing, false);
+
+        verify(replica, times(1)).getConnection();
+        verify(replicaConnection).createStatement();
+        verify(primary, times(1)).getConnection();
+        verify(primaryConnection).createStatement();
+    }
+
+    @Test
+    void fallsBackToThePrimaryWhileTheReplicaIsUnavailable() throws SQLException {
+        DataSource routing = routing(Duration.ofSeconds(30));
+        when(replica.getConnection()).thenThrow(replicaDown());
+
+        use(routing, true);
+        use(routing, true);
+
+        verify(replica, times(1)).getConnection();
+        verify(primary, times(2)).getConnection();
+        verify(primaryConnection, times(2)).setReadOnly(true);
+    }
+
+    @Test
+    void doesNotFallBackWhenTheReplicaPoolIsOnlyBusy() throws SQLException {
+        DataSource routing = routing(Duration.ofSeconds(30));
+        when(replica.getConnection())
+                .thenThrow(new SQLTransientConnectionException("replica - Connection is not available, request timed out after 2000ms"))
+                .thenReturn(replicaConnection);
+
+        assertThatThrownBy(() -> use(routing, true)).isInstanceOf(SQLTransientConnectionException.class);
+        use(routing, true);
+
+        verify(primary, never()).getConnection();
+        verify(replicaConnection).createStatement();
+        assertThat(readOnly.available()).isTrue();
+        assertThat(readOnly.fallbacks()).isZero();
+    }
+
+    @Test
+    void retriesTheReplicaOnceTheWaitIsOver() throws SQLException {
+        DataSource routing = routing(Duration.ZERO);
+        when(replica.getConnection())
+                .thenThrow(replicaDown())
+                .thenReturn(replicaConnection);
+
+        use(routing, true);
+        use(routing, true);
+
+        verify(replica, times(2)).getConnection();
+        verify(primary, times(1)).getConnection();
+        verify(replicaConnection).createStatement();
+    }
+}
@@ -0,0 +1,39 @@
+package at.kaindorf.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Die Replica zeigt auf dieselbe Testdatenbank, geprüft wird nur, welcher Pool die Verbindung liefert
+@SpringBootTest(properties = {
+        "datasource.replica.url=${spring.datasource.url}",
+        "spring.jpa.open-in-view=true"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class ReplicaRoutingTests {
+    private static final int MEMBER_ID = -4713;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockitoSpyBean(name = "replicaDataSource")
+    private HikariDataSource replica;
+
+    @Test
+    void readOnlyServiceTransactionReachesTheReplicaWithOpenInView() throws Exception {
+        clearInvocations(replica);
+
+        mockMvc.perform(get("/goal/goals/" + MEMBER_ID)).andExpect(status().isOk());
+
+        verify(replica, atLeastOnce()).getConnection();
+    }
+}
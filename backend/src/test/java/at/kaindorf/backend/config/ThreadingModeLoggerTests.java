@@ -0,0 +1,25 @@
+package at.kaindorf.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ThreadingModeLoggerTests {
+    @Test
+    void refusesToStartVirtualProfileWithoutVirtualThreads() {
+        assumeTrue(Runtime.version().feature() < 21);
+        MockEnvironment environment = new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true");
+
+        assertThatThrownBy(() -> new ThreadingModeLogger(environment).checkVirtualThreadSupport())
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void startsWithPlatformThreadsByDefault() {
+        assertThatCode(() -> new ThreadingModeLogger(new MockEnvironment()).checkVirtualThreadSupport())
+                .doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,68 @@
+package at.kaindorf.backend.database;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class DumpImporterTests {
+    private final DumpImporter importer = new DumpImporter(mock(DataSource.class), new ImportMetrics(new SimpleMeterRegistry()));
+    private final StringWriter copied = new StringWriter();
+
+    @TempDir
+    Path tempDir;
+
+    private Path dump(String name, String content) throws IOException {
+        Path file = tempDir.resolve(name);
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    @Test
+    void skipsAndCountsMalformedJsonLines() throws IOException {
+        Path dump = dump("products.jsonl",
+                "{\"code\":\"4000417025005\",\"product_name\":\"Müsli\",\"nutriments\":{\"energy-kcal_100g\":362}}\r\n"
+                        + "{\"code\":\"5391511420780\",\"product_name\":\"abgeschnit\n"
+                        + "kein json\n"
+                        + "{\"code\":\"9001414040104\",\"product_name\":\"Chowder\"}\n");
+
+        DumpImporter.CopyResult result = importer.copyJsonl(dump, copied);
+
+        assertThat(result).isEqualTo(new DumpImporter.CopyResult(2, 2));
+        assertThat(copied.toString()).startsWith("4000417025005,\"Müsli\",362,").contains("9001414040104,\"Chowder\"");
+    }
+
+    @Test
+    void readsQuotedCsvFieldsAndSkipsMalformedLines() throws IOException {
+        Path dump = dump("products.csv",
+                "code\tproduct_name\tenergy-kcal_100g\tcountries\tingredients_text\tunique_scans_n\r\n"
+                        + "4000417025005\t\"Müsli \"\"Früchte\"\"\t mit Tab\"\t362\tGermany\t\"Hafer, Äpfel\"\t5\r\n"
+                        + "5391511420780\t\"nicht geschlossen\t82\tIreland\t\t1\r\n"
+                        + "9001414040104\tzu wenig Felder\r\n"
+                        + "9001414040105\tChowder\t82\tIreland\t\t\r\n");
+
+        DumpImporter.CopyResult result = importer.copyCsv(dump, copied);
+
+        assertThat(result).isEqualTo(new DumpImporter.CopyResult(2, 2));
+        assertThat(copied.toString()).isEqualTo(
+                "4000417025005,\"Müsli \"\"Früchte\"\"\t mit Tab\",362,\"Germany\",\"Hafer, Äpfel\",5\n"
+                        + "9001414040105,\"Chowder\",82,\"Ireland\",\"\",0\n");
+    }
+
+    @Test
+    void splitsTabSeparatedFieldsWithQuotes() {
+        assertThat(DumpImporter.splitFields("a\t\"b\tc\"\t")).containsExactly("a", "b\tc", "");
+        assertThat(DumpImporter.splitFields("\"\"\"\"")).containsExactly("\"");
+        assertThat(DumpImporter.splitFields("\"offen")).isNull();
+        assertThat(DumpImporter.splitFields("\"a\"b")).isNull();
+    }
+}
@@ -0,0 +1,47 @@
+package at.kaindorf.backend.database;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedLineReaderTests {
+    @TempDir
+    Path tempDir;
+
+    private List<String> read(String content, long windowSize) throws IOException {
+        Path file = tempDir.resolve("dump.jsonl");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        List<String> lines = new ArrayList<>();
+        long count = MappedLineReader.forEachLine(file, windowSize,
+                (line, length) -> lines.add(new String(line, 0, length, StandardCharsets.UTF_8)));
+        assertThat(count).isEqualTo(lines.size());
+        return lines;
+    }
+
+    @Test
+    void joinsLinesSpanningMappingWindows() throws IOException {
+        assertThat(read("erste Zeile\nzweite, längere Zeile\ndritte", 4))
+                .containsExactly("erste Zeile", "zweite, längere Zeile", "dritte");
+    }
+
+    @Test
+    void stripsCarriageReturnsAlsoAtWindowBoundaries() throws IOException {
+        assertThat(read("abc\r\ndef\r\n\r\nghi\r\n", 4)).containsExactly("abc", "def", "ghi");
+        assertThat(read("abc\r\ndef\r\n", 1 << 20)).containsExactly("abc", "def");
+    }
+
+    @Test
+    void growsLineBufferForLongLines() throws IOException {
+        String longLine = "x".repeat(200_000);
+
+        assertThat(read(longLine + "\nkurz\n", 1 << 16)).containsExactly(longLine, "kurz");
+    }
+}
@@ -0,0 +1,155 @@
+package at.kaindorf.backend.database;
+
+import at.kaindorf.backend.pojos.Product;
+import at.kaindorf.backend.repositorys.ProductRepository;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class ProductImporterTests {
+    private HttpServer server;
+    private final List<Integer> requestedPages = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger droppedConnections = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ImportMetrics metrics = new ImportMetrics(meterRegistry);
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void startStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/search", exchange -> {
+            int page = Integer.parseInt(exchange.getRequestURI().getQuery().replace("page=", ""));
+            requestedPages.add(page);
+            if (page == 1 && droppedConnections.getAndDecrement() > 0) {
+                exchange.close();
+                return;
+            }
+            byte[] body = fixture(page);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void importsAllPagesAndWritesCheckpoint() throws Exception {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        ImporterProperties properties = properties();
+
+        ImportStatistics statistics = new ProductImporter(productRepository, properties, metrics).importProducts();
+
+        assertThat(statistics.pages()).isEqualTo(2);
+        assertThat(statistics.products()).isEqualTo(3);
+        assertThat(savedProducts(productRepository))
+                .extracting(Product::getBarcode)
+                .containsExactlyInAnyOrder(5391511420780L, 8410376053128L, 5010251958178L);
+        assertThat(Files.readString(properties.getCheckpointFile())).isEqualTo("2");
+        assertThat(meterRegistry.get("importer.rows.written").tag("source", "api").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("importer.pages.fetched").counter().count()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void appliesFieldMappingAndTruncation() throws Exception {
+        ProductRepository productRepository = mock(ProductRepository.class);
+
+        new ProductImporter(productRepository, properties(), metrics).importProducts();
+
+        List<Product> products = savedProducts(productRepository);
+        Product chowder = find(products, 5391511420780L);
+        assertThat(chowder.getKcal_100g()).isEqualTo(82);
+        assertThat(chowder.getOriginCountry()).isEqualTo("United Kingdom");
+        assertThat(chowder.getPopularity()).isEqualTo(17);
+
+        Product longName = find(products, 8410376053128L);
+        assertThat(longName.getProductName()).hasSize(255);
+        assertThat(longName.getKcal_100g()).isEqualTo(408);
+        assertThat(longName.getIngredients()).isEmpty();
+
+        assertThat(find(products, 5010251958178L).getKcal_100g()).isEqualTo(128);
+    }
+
+    @Test
+    void resumesAfterLastCommittedPage() throws Exception {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        ImporterProperties properties = properties();
+        Files.writeString(properties.getCheckpointFile(), "1");
+
+        ImportStatistics statistics = new ProductImporter(productRepository, properties, metrics).importProducts();
+
+        assertThat(requestedPages).doesNotContain(1);
+        assertThat(statistics.products()).isEqualTo(1);
+        assertThat(Files.readString(properties.getCheckpointFile())).isEqualTo("2");
+    }
+
+    @Test
+    void retriesPagesWhoseConnectionWasDropped() throws Exception {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        droppedConnections.set(2);
+
+        ImportStatistics statistics = new ProductImporter(productRepository, properties(), metrics).importProducts();
+
+        assertThat(statistics.products()).isEqualTo(3);
+        assertThat(requestedPages).filteredOn(page -> page == 1).hasSize(3);
+    }
+
+    private ImporterProperties properties() {
+        ImporterProperties properties = new ImporterProperties();
+        properties.setApiUrl("http://localhost:" + server.getAddress().getPort() + "/search?page=");
+        properties.setRequestsPerMinute(60_000);
+        properties.setBurst(10);
+        properties.setCheckpointFile(tempDir.resolve("checkpoint.txt"));
+        properties.setRetryBackoff(Duration.ofMillis(10));
+        return properties;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Product> savedProducts(ProductRepository productRepository) {
+        ArgumentCaptor<List<Product>> captor = ArgumentCaptor.forClass(List.class);
+        verify(productRepository, atLeastOnce()).saveAll(captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).toList();
+    }
+
+    private static Product find(List<Product> products, long barcode) {
+        return products.stream().filter(p -> p.getBarcode() == barcode).findFirst().orElseThrow();
+    }
+
+    private static byte[] fixture(int page) throws IOException {
+        String name = ProductImporterTests.class.getResource("/openfoodfacts/page-" + page + ".json") != null
+                ? "/openfoodfacts/page-" + page + ".json"
+                : "/openfoodfacts/page-3.json";
+        try (InputStream in = ProductImporterTests.class.getResourceAsStream(name)) {
+            return in.readAllBytes();
+        }
+    }
+}
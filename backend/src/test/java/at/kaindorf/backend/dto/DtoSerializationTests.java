@@ -0,0 +1,58 @@
+package at.kaindorf.backend.dto;
+
+import at.kaindorf.backend.pojos.Exercise;
+import at.kaindorf.backend.pojos.ExerciseLevel;
+import at.kaindorf.backend.pojos.Goal;
+import at.kaindorf.backend.pojos.Member;
+import at.kaindorf.backend.pojos.Workout;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DtoSerializationTests {
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void memberDtoNeverContainsThePasswordHash() {
+        Member member = new Member("Anna", "Berger", "anna@example.org", "$2a$10$hash", "0664123", 62);
+        member.setMemberId(3);
+
+        JsonNode json = objectMapper.valueToTree(MemberDto.of(member));
+
+        assertThat(json.has("password")).isFalse();
+        assertThat(json.get("memberId").asInt()).isEqualTo(3);
+        assertThat(json.get("email").asText()).isEqualTo("anna@example.org");
+    }
+
+    @Test
+    void goalDtoKeepsTheNestedShapeOfTheEntity() {
+        Exercise exercise = new Exercise("Squat", ExerciseLevel.values()[0], "Beine", "squat.png", 50, "Kniebeuge");
+        exercise.setExerciseId(5);
+        Workout workout = new Workout(30, "Beine", "Beintag");
+        workout.setWorkoutId(2);
+        workout.getExercises().add(exercise);
+        Goal goal = new Goal("Abnehmen", LocalDate.parse("2025-03-01"), 7, 1800);
+        goal.setGoalId(1);
+        goal.getWorkouts().add(workout);
+
+        JsonNode json = objectMapper.valueToTree(GoalDto.of(goal));
+
+        assertThat(json.get("date").asText()).isEqualTo("2025-03-01");
+        assertThat(json.get("userId").asInt()).isEqualTo(7);
+        JsonNode workoutJson = json.get("workouts").get(0);
+        assertThat(workoutJson.get("workoutName").asText()).isEqualTo("Beine");
+        assertThat(workoutJson.has("goals")).isFalse();
+        JsonNode exerciseJson = workoutJson.get("exercises").get(0);
+        assertThat(exerciseJson.get("imageURL").asText()).isEqualTo("squat.png");
+        assertThat(exerciseJson.get("exerciseLevel").asText()).isEqualTo(ExerciseLevel.values()[0].name());
+        assertThat(exerciseJson.has("workouts")).isFalse();
+    }
+}
@@ -0,0 +1,110 @@
+package at.kaindorf.backend.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestMetricsInterceptorTests {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestMetricsInterceptor interceptor = new RequestMetricsInterceptor(meterRegistry);
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/goal/goals");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final HandlerMethod handler = handler();
+
+    @BeforeEach
+    void matchPattern() {
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/goal/goals");
+    }
+
+    @AfterEach
+    void clear() {
+        RequestStatistics.stop();
+    }
+
+    @Test
+    void recordsStatementsEntityLoadsAndCacheLookupsOfTheRequest() {
+        interceptor.preHandle(request, response, handler);
+        new RequestStatementCounter().inspect("select 1");
+        new RequestStatementCounter().inspect("select 2");
+        load(1);
+        load(2);
+        load(3);
+        new RequestCacheListener().cacheGetEnd(true);
+        new RequestCacheListener().cacheGetEnd(false);
+        new RequestCacheListener().cacheGetEnd(true);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertThat(summary("http.server.requests.statements").totalAmount()).isEqualTo(2);
+        assertThat(summary("http.server.requests.entity.loads").totalAmount()).isEqualTo(3);
+        assertThat(summary("http.server.requests.cache.hits").totalAmount()).isEqualTo(2);
+        assertThat(summary("http.server.requests.cache.misses").totalAmount()).isEqualTo(1);
+        assertThat(summary("http.server.requests.statements").count()).isEqualTo(1);
+    }
+
+    @Test
+    void ignoresWorkOutsideOfARequest() {
+        new RequestStatementCounter().inspect("select 1");
+        load(1);
+        new RequestCacheListener().cacheGetEnd(true);
+
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertThat(summary("http.server.requests.statements").totalAmount()).isZero();
+        assertThat(summary("http.server.requests.entity.loads").totalAmount()).isZero();
+        assertThat(summary("http.server.requests.cache.hits").totalAmount()).isZero();
+    }
+
+    @Test
+    void doesNotCountWorkOfAnotherThreadAfterAsyncStart() {
+        interceptor.preHandle(request, response, handler);
+        new RequestStatementCounter().inspect("select 1");
+        interceptor.afterConcurrentHandlingStarted(request, response, handler);
+        new RequestStatementCounter().inspect("select 2");
+
+        assertThat(RequestStatistics.current()).isNull();
+    }
+
+    @Test
+    void recordsNothingForNonControllerHandlers() {
+        interceptor.preHandle(request, response, new Object());
+        new RequestStatementCounter().inspect("select 1");
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        assertThat(meterRegistry.getMeters()).isEmpty();
+        assertThat(RequestStatistics.current()).isNull();
+    }
+
+    private static void load(Object id) {
+        new RequestEntityLoadCounter().onLoad(new Object(), id, null, null, null);
+    }
+
+    private DistributionSummary summary(String name) {
+        return meterRegistry.get(name)
+                .tag("method", "GET")
+                .tag("uri", "/goal/goals")
+                .tag("handler", "GoalEndpoint.goals")
+                .summary();
+    }
+
+    private static HandlerMethod handler() {
+        try {
+            return new HandlerMethod(new GoalEndpoint(), GoalEndpoint.class.getMethod("goals"));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static class GoalEndpoint {
+        public void goals() {
+        }
+    }
+}
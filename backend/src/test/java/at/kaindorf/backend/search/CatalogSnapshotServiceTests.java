@@ -0,0 +1,120 @@
+package at.kaindorf.backend.search;
+
+import at.kaindorf.backend.pojos.ProductCatalogRow;
+import at.kaindorf.backend.repositorys.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CatalogSnapshotServiceTests {
+    @TempDir
+    Path tempDir;
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private long catalogVersion;
+
+    private CatalogSnapshotService service() {
+        return new CatalogSnapshotService(productRepository, mock(PlatformTransactionManager.class),
+                mock(ApplicationEventPublisher.class), tempDir.resolve("catalog.snap"), 3, new SimpleMeterRegistry());
+    }
+
+    private void catalog(ProductCatalogRow... rows) {
+        when(productRepository.streamCatalogRows()).thenAnswer(invocation -> Stream.of(rows));
+        when(productRepository.catalogVersion()).thenReturn(++catalogVersion);
+    }
+
+    @Test
+    void writesNewVersionAndDeletesTheOldOne() throws IOException {
+        catalog(new ProductCatalogRow(1L, "Alt", 1, "", "", 0));
+        CatalogSnapshotService service = service();
+        service.regenerate();
+        Path first = service.current().orElseThrow().file();
+
+        catalog(new ProductCatalogRow(1L, "Neu", 2, "", "", 0), new ProductCatalogRow(2L, "Neu 2", 3, "", "", 0));
+        service.regenerate();
+
+        CatalogSnapshot current = service.current().orElseThrow();
+        assertThat(current.file()).isNotEqualTo(first);
+        assertThat(current.size()).isEqualTo(2);
+        assertThat(Files.list(tempDir)).containsExactly(current.file());
+    }
+
+    @Test
+    void keepsSnapshotMatchingTheProductTable() {
+        catalog(new ProductCatalogRow(1L, "Müsli", 362, "", "", 0));
+        service().regenerate();
+
+        CatalogSnapshotService restarted = service();
+        restarted.load();
+
+        assertThat(restarted.current()).map(CatalogSnapshot::size).contains(1);
+        verify(productRepository).streamCatalogRows();
+    }
+
+    @Test
+    void regeneratesSnapshotThatDoesNotMatchTheProductTable() {
+        catalog(new ProductCatalogRow(1L, "Müsli", 362, "", "", 0));
+        service().regenerate();
+        catalog(new ProductCatalogRow(1L, "Müsli", 362, "", "", 0), new ProductCatalogRow(5L, "Chowder", 82, "", "", 0));
+
+        CatalogSnapshotService restarted = service();
+        restarted.load();
+
+        CatalogSnapshot current = restarted.current().orElseThrow();
+        assertThat(current.size()).isEqualTo(2);
+        assertThat(current.lastBarcode()).isEqualTo(5L);
+    }
+
+    @Test
+    void regeneratesSnapshotWhenAProductChangedInPlace() {
+        catalog(new ProductCatalogRow(1L, "Müsli", 362, "", "", 0));
+        service().regenerate();
+        catalog(new ProductCatalogRow(1L, "Müsli Neu", 380, "", "", 0));
+
+        CatalogSnapshotService restarted = service();
+        restarted.load();
+
+        CatalogSnapshot current = restarted.current().orElseThrow();
+        assertThat(current.name(0)).isEqualTo("Müsli Neu");
+        assertThat(current.catalogVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void generatesSnapshotWhenNoneExists() {
+        catalog();
+        CatalogSnapshotService service = service();
+
+        service.load();
+
+        assertThat(service.current()).map(CatalogSnapshot::size).contains(0);
+        verify(productRepository).catalogVersion();
+    }
+
+    @Test
+    void regeneratesOnceTooManyChangesArePending() {
+        catalog(new ProductCatalogRow(1L, "Müsli", 362, "", "", 0));
+        CatalogSnapshotService service = service();
+
+        service.productRemoved(new ProductRemovedEvent(7L));
+        service.productRemoved(new ProductRemovedEvent(8L));
+        verify(productRepository, never()).streamCatalogRows();
+        service.productRemoved(new ProductRemovedEvent(9L));
+
+        verify(productRepository, timeout(5000)).streamCatalogRows();
+        service.shutdown();
+    }
+}
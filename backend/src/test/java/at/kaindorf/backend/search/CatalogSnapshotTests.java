@@ -0,0 +1,75 @@
+package at.kaindorf.backend.search;
+
+import at.kaindorf.backend.pojos.ProductCatalogRow;
+import at.kaindorf.backend.pojos.ProductSummary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogSnapshotTests {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsColumnsBackFromMappedFile() throws IOException {
+        Path file = tempDir.resolve("catalog.snap");
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file)) {
+            writer.add(new ProductCatalogRow(4000417025005L, "Müsli Früchte", 362, "Germany", "Haferflocken, Äpfel", 5));
+            writer.add(new ProductCatalogRow(5391511420780L, "Seafood Chowder", 82, "United Kingdom", "Fish", 17));
+            writer.add(new ProductCatalogRow(9001414040104L, null, null, "Germany", null, null));
+            writer.commit();
+        }
+
+        CatalogSnapshot snapshot = CatalogSnapshot.open(file);
+
+        assertThat(snapshot.size()).isEqualTo(3);
+        assertThat(snapshot.summary(0)).isEqualTo(new ProductSummary(4000417025005L, "Müsli Früchte", 362, "Germany"));
+        assertThat(snapshot.ingredients(0)).isEqualTo("Haferflocken, Äpfel");
+        assertThat(snapshot.popularity(1)).isEqualTo(17);
+        assertThat(snapshot.name(2)).isEmpty();
+        assertThat(snapshot.ingredients(2)).isEmpty();
+        assertThat(snapshot.country(2)).isEqualTo("Germany");
+        assertThat(snapshot.lastBarcode()).isEqualTo(9001414040104L);
+        assertThat(snapshot.find(5391511420780L)).map(ProductSummary::productName).contains("Seafood Chowder");
+        assertThat(snapshot.find(5391511420781L)).isEmpty();
+        assertThat(Files.list(tempDir)).containsExactly(file);
+    }
+
+    @Test
+    void neverOverwritesAnExistingSnapshot() throws IOException {
+        Path file = tempDir.resolve("catalog.snap");
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file)) {
+            writer.add(new ProductCatalogRow(1L, "Alt", 1, "", "", 0));
+            writer.commit();
+        }
+        CatalogSnapshot previous = CatalogSnapshot.open(file);
+
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file)) {
+            writer.add(new ProductCatalogRow(1L, "Neu", 2, "", "", 0));
+            assertThatThrownBy(writer::commit).isInstanceOf(FileAlreadyExistsException.class);
+        }
+
+        assertThat(previous.name(0)).isEqualTo("Alt");
+        assertThat(Files.list(tempDir)).containsExactly(file);
+    }
+
+    @Test
+    void rejectsUnsortedRowsAndKeepsNoPartialFile() throws IOException {
+        Path file = tempDir.resolve("catalog.snap");
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file)) {
+            writer.add(new ProductCatalogRow(2L, "B", 1, "", "", 0));
+            assertThatThrownBy(() -> writer.add(new ProductCatalogRow(1L, "A", 1, "", "", 0)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        assertThat(Files.list(tempDir)).isEmpty();
+        assertThatThrownBy(() -> CatalogSnapshot.open(file)).isInstanceOf(IOException.class);
+    }
+}
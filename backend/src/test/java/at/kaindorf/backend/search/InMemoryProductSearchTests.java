@@ -0,0 +1,141 @@
+package at.kaindorf.backend.search;
+
+import at.kaindorf.backend.pojos.Product;
+import at.kaindorf.backend.pojos.ProductCatalogRow;
+import at.kaindorf.backend.pojos.ProductSummary;
+import at.kaindorf.backend.repositorys.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InMemoryProductSearchTests {
+    @TempDir
+    Path tempDir;
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final InMemoryProductSearch search = new InMemoryProductSearch(productRepository);
+
+    private static final List<ProductCatalogRow> CATALOG = List.of(
+            new ProductCatalogRow(1L, "Chickpeas", 364, "Germany", "", 0),
+            new ProductCatalogRow(2L, "Chick Nuggets", 250, "Germany", "", 0),
+            new ProductCatalogRow(3L, "Smoked Haddock Chowder", 82, "Ireland", "", 0));
+
+    private CatalogSnapshot snapshot(String version) throws IOException {
+        return snapshot(version, CATALOG);
+    }
+
+    private CatalogSnapshot snapshot(String version, List<ProductCatalogRow> rows) throws IOException {
+        Path file = tempDir.resolve("catalog.snap." + version);
+        try (CatalogSnapshotWriter writer = new CatalogSnapshotWriter(file)) {
+            for (ProductCatalogRow row : rows) {
+                writer.add(row);
+            }
+            writer.commit();
+        }
+        return CatalogSnapshot.open(file);
+    }
+
+    private List<Long> find(String name) {
+        return search.searchByName(name, PageRequest.of(0, 50)).map(ProductSummary::barcode).getContent();
+    }
+
+    @Test
+    void removedProductsLeaveTheIndex() throws IOException {
+        search.rebuild(new CatalogSnapshotLoadedEvent(snapshot("v1")));
+
+        search.productRemoved(new ProductRemovedEvent(1L));
+
+        assertThat(find("chick")).containsExactly(2L);
+    }
+
+    @Test
+    void replaysChangesNewerThanTheSnapshotAfterRebuild() throws Exception {
+        CatalogSnapshot snapshot = snapshot("v1");
+        Thread.sleep(2);
+        search.productChanged(new ProductChangedEvent(new Product(2L, "Hummus", 166, "Germany", "", 0)));
+        search.productChanged(new ProductChangedEvent(new Product(4L, "Chickpea Curry", 120, "India", "", 0)));
+        search.productRemoved(new ProductRemovedEvent(3L));
+
+        search.rebuild(new CatalogSnapshotLoadedEvent(snapshot));
+
+        assertThat(find("chick")).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(find("hummus")).containsExactly(2L);
+        assertThat(find("chowder")).isEmpty();
+    }
+
+    @Test
+    void dropsChangesAlreadyContainedInANewerSnapshot() throws Exception {
+        search.productChanged(new ProductChangedEvent(new Product(2L, "Hummus", 166, "Germany", "", 0)));
+        Thread.sleep(2);
+
+        search.rebuild(new CatalogSnapshotLoadedEvent(snapshot("v2")));
+
+        assertThat(find("chick")).containsExactly(1L, 2L);
+        assertThat(find("hummus")).isEmpty();
+    }
+
+    @Test
+    void usesDatabaseKeysetWhileIndexIsMissing() {
+        when(productRepository.findByProductNameContainingIgnoreCaseAndBarcodeGreaterThanOrderByBarcodeAsc(
+                eq("chick"), eq(Long.MIN_VALUE), any(), eq(ProductSummary.class)))
+                .thenReturn(new SliceImpl<>(List.of(new ProductSummary(1L, "Chickpeas", 364, "Germany")), PageRequest.ofSize(1), true));
+
+        ProductSlice slice = search.searchByNameAfter("chick", null, 1);
+
+        assertThat(slice.content()).extracting(ProductSummary::barcode).containsExactly(1L);
+        assertThat(slice.after()).isEqualTo(SearchCursor.encode("d", 1L));
+    }
+
+    @Test
+    void reanchorsCursorOfOlderIndexOnItsBarcode() throws IOException {
+        search.rebuild(new CatalogSnapshotLoadedEvent(snapshot("v1")));
+        ProductSlice first = search.searchByNameAfter("chick", null, 1);
+
+        search.rebuild(new CatalogSnapshotLoadedEvent(snapshot("v2")));
+        ProductSlice second = search.searchByNameAfter("chick", first.after(), 1);
+
+        assertThat(first.content()).extracting(ProductSummary::barcode).containsExactly(1L);
+        assertThat(second.content()).extracting(ProductSummary::barcode).containsExactly(2L);
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    void continuesInDatabaseWhenCursorProductIsGone() throws IOException {
+        search.rebuild(new CatalogSnapshotLoadedEvent(snapshot("v1")));
+        ProductSlice first = search.searchByNameAfter("chick", null, 1);
+        search.rebuild(new CatalogSnapshotLoadedEvent(snapshot("v2", CATALOG.subList(1, 3))));
+        when(productRepository.findByProductNameContainingIgnoreCaseAndBarcodeGreaterThanOrderByBarcodeAsc(
+                eq("chick"), eq(1L), any(), eq(ProductSummary.class)))
+                .thenReturn(new SliceImpl<>(List.of(new ProductSummary(2L, "Chick Nuggets", 250, "Germany")), PageRequest.ofSize(1), false));
+
+        ProductSlice second = search.searchByNameAfter("chick", first.after(), 1);
+
+        assertThat(second.content()).extracting(ProductSummary::barcode).containsExactly(2L);
+        verify(productRepository).findByProductNameContainingIgnoreCaseAndBarcodeGreaterThanOrderByBarcodeAsc(
+                eq("chick"), eq(1L), any(), eq(ProductSummary.class));
+    }
+
+    @Test
+    void answersQueriesShorterThanATrigramFromTheDatabase() throws IOException {
+        search.rebuild(new CatalogSnapshotLoadedEvent(snapshot("v1")));
+        when(productRepository.findByProductNameContainingIgnoreCaseAndBarcodeGreaterThanOrderByBarcodeAsc(
+                eq("ch"), eq(Long.MIN_VALUE), any(), eq(ProductSummary.class)))
+                .thenReturn(new SliceImpl<>(List.of(new ProductSummary(1L, "Chickpeas", 364, "Germany"))));
+
+        ProductSlice slice = search.searchByNameAfter("ch", null, 50);
+
+        assertThat(slice.content()).extracting(ProductSummary::barcode).containsExactly(1L);
+    }
+}
@@ -0,0 +1,43 @@
+package at.kaindorf.backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixSuggesterTests {
+
+    private PrefixSuggester suggester() {
+        return PrefixSuggester.builder()
+                .add(1L, "Chocolate Milk", 5)
+                .add(2L, "Chocolate Bar", 40)
+                .add(3L, "chocolate bar", 2)
+                .add(4L, "Chickpeas", 100)
+                .add(5L, "Choco Crispies", 10)
+                .add(6L, "Cheese", 0)
+                .add(7L, "", 1000)
+                .build();
+    }
+
+    @Test
+    void ranksMatchesByPopularity() {
+        List<PrefixSuggester.Suggestion> suggestions = suggester().suggest("CHOC", 10);
+
+        assertThat(suggestions).extracting(PrefixSuggester.Suggestion::productName)
+                .containsExactly("Chocolate Bar", "Choco Crispies", "Chocolate Milk");
+        assertThat(suggestions.get(0).barcode()).isEqualTo(2L);
+    }
+
+    @Test
+    void limitsToTopK() {
+        assertThat(suggester().suggest("c", 2)).extracting(PrefixSuggester.Suggestion::barcode)
+                .containsExactly(4L, 2L);
+    }
+
+    @Test
+    void returnsNothingForUnknownPrefix() {
+        assertThat(suggester().suggest("xyz", 10)).isEmpty();
+        assertThat(PrefixSuggester.builder().build().suggest("a", 10)).isEmpty();
+    }
+}
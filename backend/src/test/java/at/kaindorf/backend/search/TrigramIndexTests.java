@@ -0,0 +1,127 @@
+package at.kaindorf.backend.search;
+
+import at.kaindorf.backend.pojos.ProductSummary;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTests {
+
+    private TrigramIndex index() {
+        TrigramIndex index = new TrigramIndex(4);
+        index.add(product(1L, "Smoked Haddock Chowder"));
+        index.add(product(2L, "Chickpeas"));
+        index.add(product(3L, "Lighter soft cheese"));
+        index.add(product(4L, "Chick Nuggets"));
+        index.add(product(5L, "Tomato purée"));
+        return index;
+    }
+
+    private static ProductSummary product(long barcode, String name) {
+        return new ProductSummary(barcode, name, 100, "en:gb");
+    }
+
+    @Test
+    void findsCaseInsensitiveSubstrings() {
+        TrigramIndex.SearchResult result = index().search("CHICK", 0, 50);
+
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.products()).extracting(ProductSummary::barcode).containsExactly(2L, 4L);
+        assertThat(result.products().get(0).productName()).isEqualTo("Chickpeas");
+        assertThat(result.products().get(0).originCountry()).isEqualTo("en:gb");
+    }
+
+    @Test
+    void rejectsCandidatesThatOnlyShareTrigrams() {
+        TrigramIndex index = new TrigramIndex(4);
+        index.add(product(1L, "abcxbcd"));
+
+        assertThat(index.search("abcd", 0, 50).total()).isZero();
+    }
+
+    @Test
+    void pagesThroughMatches() {
+        TrigramIndex index = index();
+        index.add(product(6L, "Chicken Wings"));
+
+        TrigramIndex.SearchResult result = index.search("chick", 1, 2);
+
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.products()).extracting(ProductSummary::barcode).containsExactly(4L, 6L);
+    }
+
+    @Test
+    void stopsAfterThePageAndEstimatesTheTotal() {
+        TrigramIndex index = new TrigramIndex(1000);
+        for (int i = 0; i < 1000; i++) {
+            index.add(product(i, i % 2 == 0 ? "Milk " + i : "Mlik " + i));
+        }
+
+        TrigramIndex.SearchResult result = index.search("milk", 0, 10);
+
+        assertThat(result.products()).hasSize(10);
+        assertThat(result.exactTotal()).isFalse();
+        assertThat(result.total()).isBetween(400L, 600L);
+        assertThat(index.search("milk", 495, 10).exactTotal()).isTrue();
+        assertThat(index.search("milk", 495, 10).total()).isEqualTo(500);
+    }
+
+    @Test
+    void answersQueriesShorterThanATrigramWithoutScanning() {
+        TrigramIndex index = index();
+
+        assertThat(index.search("o", 0, 50).total()).isZero();
+        assertThat(index.searchAfter("ch", -1, 50).products()).isEmpty();
+    }
+
+    @Test
+    void replacesRenamedProducts() {
+        TrigramIndex index = index();
+        index.add(product(2L, "Hummus"));
+
+        assertThat(index.search("chickpea", 0, 50).total()).isZero();
+        assertThat(index.search("hummus", 0, 50).products()).extracting(ProductSummary::barcode).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    void continuesAfterKeysetCursor() {
+        TrigramIndex index = index();
+        index.add(product(6L, "Chicken Wings"));
+
+        TrigramIndex.KeysetResult first = index.searchAfter("chick", -1, 2);
+        TrigramIndex.KeysetResult second = index.searchAfter("chick", first.lastDocument(), 2);
+
+        assertThat(first.products()).extracting(ProductSummary::barcode).containsExactly(2L, 4L);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.products()).extracting(ProductSummary::barcode).containsExactly(6L);
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    void removesProducts() {
+        TrigramIndex index = index();
+        index.remove(2L);
+        index.remove(99L);
+
+        assertThat(index.search("chick", 0, 50).products()).extracting(ProductSummary::barcode).containsExactly(4L);
+        assertThat(index.documentOf(2L)).isNegative();
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(index.deletedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void compactionDropsTombstonesAndKeepsOrder() {
+        TrigramIndex index = index();
+        index.add(product(2L, "Hummus"));
+        index.remove(3L);
+
+        TrigramIndex compacted = index.compacted();
+
+        assertThat(compacted.deletedCount()).isZero();
+        assertThat(compacted.size()).isEqualTo(4);
+        assertThat(compacted.generation()).isNotEqualTo(index.generation());
+        assertThat(compacted.search("chick", 0, 50).products()).extracting(ProductSummary::barcode).containsExactly(4L);
+        assertThat(compacted.documentOf(2L)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,61 @@
+package at.kaindorf.backend.services;
+
+import at.kaindorf.backend.pojos.Goal;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class BatchCreateServiceTests {
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final BatchCreateService service = new BatchCreateService(mock(PlatformTransactionManager.class), 4);
+
+    @Test
+    void persistsTheValidItemsOfAFailingChunk() {
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+        AtomicInteger sequence = new AtomicInteger();
+        doAnswer(invocation -> {
+            Goal goal = invocation.getArgument(0);
+            if (goal.getGoalId() != null) {
+                throw new PersistenceException("detached entity passed to persist");
+            }
+            goal.setGoalId(sequence.incrementAndGet());
+            if (goal.getGoalName().equals("Kaputt")) {
+                throw new PersistenceException("value too long");
+            }
+            return null;
+        }).when(entityManager).persist(any());
+        List<Goal> goals = List.of(goal("A"), goal("Kaputt"), goal("B"), goal("C"), goal("D"));
+
+        List<BatchItemResult> results = service.persistAll(goals, goal -> null, Goal::getGoalId, Goal::setGoalId);
+
+        assertThat(results).extracting(BatchItemResult::error)
+                .containsExactly(null, "Eintrag konnte nicht gespeichert werden: value too long", null, null, null);
+        assertThat(results).filteredOn(result -> result.error() == null).extracting(BatchItemResult::id)
+                .doesNotContainNull().doesNotHaveDuplicates().hasSize(4);
+    }
+
+    @Test
+    void rejectsItemsThatAlreadyHaveAnId() {
+        Goal existing = goal("A");
+        existing.setGoalId(9);
+
+        List<BatchItemResult> results = service.persistAll(List.of(existing), goal -> null, Goal::getGoalId, Goal::setGoalId);
+
+        assertThat(results.get(0).error()).isNotNull();
+    }
+
+    private static Goal goal(String name) {
+        return new Goal(name, LocalDate.of(2025, 1, 1), 7, 1800);
+    }
+}
@@ -0,0 +1,105 @@
+package at.kaindorf.backend.services;
+
+import at.kaindorf.backend.cache.GoalTimelineCache;
+import at.kaindorf.backend.cache.ProductLookupService;
+import at.kaindorf.backend.dto.ProductDto;
+import at.kaindorf.backend.pojos.ConsumptionEntry;
+import at.kaindorf.backend.pojos.Goal;
+import at.kaindorf.backend.repositorys.ConsumptionEntryRepository;
+import at.kaindorf.backend.repositorys.DailyCaloriesRepository;
+import at.kaindorf.backend.repositorys.GoalCaloriesRepository;
+import at.kaindorf.backend.repositorys.GoalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class ConsumptionServiceTests {
+    private final ConsumptionEntryRepository entryRepository = mock(ConsumptionEntryRepository.class);
+    private final DailyCaloriesRepository dailyCaloriesRepository = mock(DailyCaloriesRepository.class);
+    private final GoalCaloriesRepository goalCaloriesRepository = mock(GoalCaloriesRepository.class);
+    private final GoalRepository goalRepository = mock(GoalRepository.class);
+    private final ProductLookupService productLookupService = mock(ProductLookupService.class);
+    private final GoalTimelineCache goalTimelineCache = mock(GoalTimelineCache.class);
+    private final ConsumptionService service = new ConsumptionService(entryRepository, dailyCaloriesRepository,
+            goalCaloriesRepository, goalRepository, productLookupService, goalTimelineCache, mock(GoalQueryService.class));
+    private final AtomicLong ids = new AtomicLong(100);
+
+    @BeforeEach
+    void repositories() {
+        when(entryRepository.save(any())).thenAnswer(invocation -> {
+            ConsumptionEntry entry = invocation.getArgument(0);
+            entry.setEntryId(ids.incrementAndGet());
+            return entry;
+        });
+        ProductDto product = new ProductDto(4000417025005L, "Müsli", 400, "Germany", "", 0);
+        when(productLookupService.findByBarcode(4000417025005L)).thenReturn(Optional.of(product));
+        Goal goal = new Goal("Abnehmen", LocalDate.now(), 7, 1800);
+        goal.setGoalId(3);
+        when(goalRepository.findById(3)).thenReturn(Optional.of(goal));
+    }
+
+    @Test
+    void appliesEntryToDailyAndGoalRollups() {
+        ConsumptionEntry entry = service.logConsumption(7, 3, 4000417025005L, 150);
+
+        assertThat(entry.getKcal()).isEqualTo(600);
+        assertThat(entry.getProductName()).isEqualTo("Müsli");
+        verify(dailyCaloriesRepository).addCalories(7, entry.getDate(), 600, 1);
+        verify(goalCaloriesRepository).addCalories(3, 600, 1);
+        verify(goalRepository).subtractKcal(3, 600);
+        verify(goalTimelineCache).invalidate(7);
+    }
+
+    @Test
+    void revertAppendsNegatedEntryAndRollsBackRollups() {
+        ConsumptionEntry original = new ConsumptionEntry(7, 4000417025005L, "Müsli", 150, 600,
+                LocalDate.parse("2025-03-01"), LocalDateTime.parse("2025-03-01T08:00:00"));
+        original.setEntryId(41L);
+        original.setGoalId(3);
+        when(entryRepository.findByIdForUpdate(41L)).thenReturn(Optional.of(original));
+
+        ConsumptionEntry reversal = service.revert(41L);
+
+        assertThat(reversal.getReversedEntryId()).isEqualTo(41L);
+        assertThat(reversal.getKcal()).isEqualTo(-600);
+        assertThat(reversal.getGrams()).isEqualTo(-150);
+        assertThat(reversal.getDate()).isEqualTo(original.getDate());
+        verify(dailyCaloriesRepository).addCalories(7, original.getDate(), -600, -1);
+        verify(goalCaloriesRepository).addCalories(3, -600, -1);
+        verify(goalRepository).subtractKcal(3, -600);
+    }
+
+    @Test
+    void rejectsRevertingAnEntryTwice() {
+        ConsumptionEntry original = new ConsumptionEntry(7, 4000417025005L, "Müsli", 150, 600,
+                LocalDate.parse("2025-03-01"), LocalDateTime.parse("2025-03-01T08:00:00"));
+        original.setEntryId(41L);
+        when(entryRepository.findByIdForUpdate(41L)).thenReturn(Optional.of(original));
+        when(entryRepository.existsByReversedEntryId(41L)).thenReturn(false, true);
+        ConsumptionEntry reversal = service.revert(41L);
+        when(entryRepository.findByIdForUpdate(reversal.getEntryId())).thenReturn(Optional.of(reversal));
+
+        assertThatThrownBy(() -> service.revert(41L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.revert(reversal.getEntryId())).isInstanceOf(IllegalArgumentException.class);
+        verify(entryRepository, times(1)).save(any());
+        verify(dailyCaloriesRepository, times(1)).addCalories(anyInt(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void rejectsGoalOfAnotherMember() {
+        assertThatThrownBy(() -> service.logConsumption(8, 3, 4000417025005L, 150))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(dailyCaloriesRepository, goalCaloriesRepository);
+    }
+}
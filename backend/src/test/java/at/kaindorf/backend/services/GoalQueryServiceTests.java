@@ -0,0 +1,90 @@
+package at.kaindorf.backend.services;
+
+import at.kaindorf.backend.repositorys.GoalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class GoalQueryServiceTests {
+    private static final Instant NOW = Instant.parse("2025-01-01T08:00:00Z");
+
+    private final GoalRepository goalRepository = mock(GoalRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final Clock clock = mock(Clock.class);
+    private final GoalQueryService service = new GoalQueryService(goalRepository, transactionManager,
+            Duration.ofSeconds(10), clock);
+
+    @BeforeEach
+    void transactions() {
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        when(goalRepository.getGoalsByUserId(7)).thenReturn(List.of());
+        when(clock.instant()).thenReturn(NOW);
+    }
+
+    @Test
+    void readsGoalsInAReadOnlyTransaction() {
+        service.goals(7);
+
+        assertThat(lastTransaction().isReadOnly()).isTrue();
+    }
+
+    @Test
+    void readsOwnChangesFromThePrimaryUntilTheWindowIsOver() {
+        service.goalsChanged(7);
+
+        service.goals(7);
+        assertThat(lastTransaction().isReadOnly()).isFalse();
+
+        service.goals(8);
+        assertThat(lastTransaction().isReadOnly()).isTrue();
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(10));
+        service.goals(7);
+        assertThat(lastTransaction().isReadOnly()).isTrue();
+    }
+
+    @Test
+    void readsFromThePrimaryWhenTheClientChangedGoalsOnAnotherNode() {
+        service.goals(7, NOW.minusSeconds(3).toEpochMilli());
+        assertThat(lastTransaction().isReadOnly()).isFalse();
+
+        service.goals(7, NOW.minusSeconds(10).toEpochMilli());
+        assertThat(lastTransaction().isReadOnly()).isTrue();
+    }
+
+    @Test
+    void handsTheChangeTimeToTheClient() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+        try {
+            service.goalsChanged(7);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        assertThat(response.getCookie(GoalQueryService.CHANGED_COOKIE)).isNotNull()
+                .extracting(cookie -> cookie.getValue()).isEqualTo(Long.toString(NOW.toEpochMilli()));
+    }
+
+    private TransactionDefinition lastTransaction() {
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, atLeastOnce()).getTransaction(definition.capture());
+        return definition.getValue();
+    }
+}
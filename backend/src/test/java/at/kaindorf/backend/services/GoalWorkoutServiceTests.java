@@ -0,0 +1,56 @@
+package at.kaindorf.backend.services;
+
+import at.kaindorf.backend.repositorys.GoalRepository;
+import at.kaindorf.backend.repositorys.WorkoutRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class GoalWorkoutServiceTests {
+    private final GoalRepository goalRepository = mock(GoalRepository.class);
+    private final WorkoutRepository workoutRepository = mock(WorkoutRepository.class);
+    private final GoalQueryService goalQueryService = mock(GoalQueryService.class);
+    private final GoalWorkoutService service = new GoalWorkoutService(goalRepository, workoutRepository, goalQueryService);
+
+    @Test
+    void addsAndRemovesWorkoutsAndReportsUnknownIds() {
+        when(goalRepository.findUserIdByGoalId(1)).thenReturn(7);
+        when(workoutRepository.findExistingWorkoutIds(Set.of(10, 11, 12, 99))).thenReturn(Set.of(10, 11, 12));
+        when(goalRepository.addWorkouts(1, List.of(10, 11, 99))).thenReturn(2);
+        when(goalRepository.removeWorkouts(1, List.of(12))).thenReturn(1);
+
+        GoalWorkoutChange change = service.changeWorkouts(1, List.of(10, 11, 99), List.of(12));
+
+        assertThat(change).isEqualTo(new GoalWorkoutChange(1, 2, 1, List.of(99)));
+        verify(goalQueryService).goalsChanged(7);
+    }
+
+    @Test
+    void emptyChangeDoesNotTouchTheDatabase() {
+        when(goalRepository.findUserIdByGoalId(1)).thenReturn(7);
+
+        GoalWorkoutChange change = service.changeWorkouts(1, List.of(), List.of());
+
+        assertThat(change).isEqualTo(new GoalWorkoutChange(1, 0, 0, List.of()));
+        verifyNoInteractions(workoutRepository);
+        verify(goalRepository, never()).addWorkouts(any(), any());
+        verify(goalRepository, never()).removeWorkouts(any(), any());
+        verifyNoInteractions(goalQueryService);
+    }
+
+    @Test
+    void unknownGoalIsRejected() {
+        when(goalRepository.findUserIdByGoalId(5)).thenReturn(null);
+
+        assertThatThrownBy(() -> service.changeWorkouts(5, List.of(10), List.of()))
+                .isInstanceOf(NoSuchElementException.class);
+        verify(goalRepository, never()).addWorkouts(any(), any());
+    }
+}
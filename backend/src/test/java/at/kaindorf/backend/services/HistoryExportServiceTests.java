@@ -0,0 +1,68 @@
+package at.kaindorf.backend.services;
+
+import at.kaindorf.backend.pojos.ConsumptionExportRow;
+import at.kaindorf.backend.pojos.GoalExportRow;
+import at.kaindorf.backend.repositorys.ConsumptionEntryRepository;
+import at.kaindorf.backend.repositorys.GoalRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HistoryExportServiceTests {
+    private final GoalRepository goalRepository = mock(GoalRepository.class);
+    private final ConsumptionEntryRepository consumptionEntryRepository = mock(ConsumptionEntryRepository.class);
+    private final HistoryExportService service = new HistoryExportService(goalRepository, consumptionEntryRepository,
+            new ObjectMapper(), mock(PlatformTransactionManager.class));
+
+    @BeforeEach
+    void history() {
+        LocalDate date = LocalDate.parse("2025-03-01");
+        when(goalRepository.streamExportRowsByUserId(7)).thenReturn(Stream.of(
+                new GoalExportRow(1, "Abnehmen", date, 1800, 10, "Laufen", 30),
+                new GoalExportRow(1, "Abnehmen", date, 1800, 11, "Rudern", 20),
+                new GoalExportRow(2, "Halten, locker", date.plusDays(7), 2200, null, null, null)));
+        when(consumptionEntryRepository.streamExportRowsByMemberId(7)).thenReturn(Stream.of(
+                new ConsumptionExportRow(100L, 1, 5391511420780L, "Chowder \"Deluxe\"", 250, 205, date,
+                        LocalDateTime.parse("2025-03-01T12:30:00"), null)));
+    }
+
+    @Test
+    void writesOneNdjsonLinePerGoalAndEntry() throws Exception {
+        String[] lines = export(ExportFormat.NDJSON).split("\n");
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).isEqualTo("{\"type\":\"goal\",\"goalId\":1,\"goalName\":\"Abnehmen\",\"date\":\"2025-03-01\","
+                + "\"kcal\":1800,\"workouts\":[{\"workoutId\":10,\"workoutName\":\"Laufen\",\"minutes\":30},"
+                + "{\"workoutId\":11,\"workoutName\":\"Rudern\",\"minutes\":20}]}");
+        assertThat(lines[1]).endsWith("\"workouts\":[]}");
+        assertThat(new ObjectMapper().readTree(lines[2]).get("consumedAt").asText()).isEqualTo("2025-03-01T12:30");
+    }
+
+    @Test
+    void writesFlatCsvWithEscapedFields() throws Exception {
+        String[] lines = export(ExportFormat.CSV).split("\n");
+
+        assertThat(lines).hasSize(5);
+        assertThat(lines[0]).startsWith("type,goalId,goalName,date");
+        assertThat(lines[1]).isEqualTo("goal,1,Abnehmen,2025-03-01,1800,10,Laufen,30,,,,,,");
+        assertThat(lines[3]).isEqualTo("goal,2,\"Halten, locker\",2025-03-08,2200,,,,,,,,,");
+        assertThat(lines[4]).isEqualTo("consumption,1,,2025-03-01,205,,,,100,5391511420780,\"Chowder \"\"Deluxe\"\"\",250,2025-03-01T12:30,");
+    }
+
+    private String export(ExportFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(7, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
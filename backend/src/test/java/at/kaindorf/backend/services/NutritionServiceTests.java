@@ -0,0 +1,80 @@
+package at.kaindorf.backend.services;
+
+import at.kaindorf.backend.cache.GoalTimelineCache;
+import at.kaindorf.backend.cache.ProductLookupService;
+import at.kaindorf.backend.dto.ProductDto;
+import at.kaindorf.backend.pojos.ConsumptionEntry;
+import at.kaindorf.backend.pojos.Goal;
+import at.kaindorf.backend.repositorys.GoalRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class NutritionServiceTests {
+    private final ProductLookupService productLookupService = mock(ProductLookupService.class);
+    private final ConsumptionService consumptionService = mock(ConsumptionService.class);
+    private final GoalRepository goalRepository = mock(GoalRepository.class);
+    private final GoalTimelineCache goalTimelineCache = mock(GoalTimelineCache.class);
+    private final NutritionService service = new NutritionService(productLookupService, consumptionService,
+            goalRepository, goalTimelineCache);
+
+    @Test
+    void computesItemAndTotalKcalWithoutApplying() {
+        when(productLookupService.findByBarcodes(any())).thenReturn(List.of(product(1L, 400), product(2L, 55)));
+
+        MealNutrition meal = service.meal(7, null, false, new long[]{1L, 2L, 1L}, new int[]{50, 300, 25});
+
+        assertThat(meal.items()).extracting(MealItem::kcal).containsExactly(200, 165, 100);
+        assertThat(meal.totalKcal()).isEqualTo(465);
+        assertThat(meal.applied()).isFalse();
+        verifyNoInteractions(consumptionService, goalRepository);
+    }
+
+    @Test
+    void appliesTotalToCurrentGoal() {
+        Goal goal = new Goal("Abnehmen", LocalDate.now(), 7, 1800);
+        goal.setGoalId(3);
+        when(productLookupService.findByBarcodes(any())).thenReturn(List.of(product(1L, 400)));
+        when(goalTimelineCache.currentGoal(eq(7), any())).thenReturn(Optional.of(
+                new GoalTimelineCache.Entry(3, "Abnehmen", goal.getDate(), 7, 1800)));
+        when(goalRepository.findById(3)).thenReturn(Optional.of(goal));
+        when(consumptionService.logMeal(eq(7), eq(3), anyList())).thenAnswer(invocation -> {
+            List<ConsumptionEntry> entries = invocation.getArgument(2);
+            entries.get(0).setEntryId(41L);
+            return entries;
+        });
+        when(goalRepository.findKcalByGoalId(3)).thenReturn(1200);
+
+        MealNutrition meal = service.meal(7, null, true, new long[]{1L}, new int[]{150});
+
+        assertThat(meal.applied()).isTrue();
+        assertThat(meal.goalId()).isEqualTo(3);
+        assertThat(meal.remainingKcal()).isEqualTo(1200);
+        assertThat(meal.items()).extracting(MealItem::entryId).containsExactly(41L);
+        assertThat(goal.getKcal()).isEqualTo(1800);
+        verify(goalRepository, never()).save(any());
+    }
+
+    @Test
+    void doesNotApplyMealWithUnknownBarcodes() {
+        when(productLookupService.findByBarcodes(any())).thenReturn(List.of(product(1L, 400)));
+
+        MealNutrition meal = service.meal(7, null, true, new long[]{1L, 99L}, new int[]{100, 100});
+
+        assertThat(meal.applied()).isFalse();
+        assertThat(meal.unknownBarcodes()).containsExactly(99L);
+        verifyNoInteractions(consumptionService);
+    }
+
+    private static ProductDto product(long barcode, int kcal) {
+        return new ProductDto(barcode, "Produkt " + barcode, kcal, "Austria", "", 0);
+    }
+}
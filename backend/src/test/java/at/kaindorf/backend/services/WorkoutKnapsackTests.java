@@ -0,0 +1,57 @@
+package at.kaindorf.backend.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkoutKnapsackTests {
+    @Test
+    void findsExactMatchWithinTimeLimit() {
+        int[] kcal = {300, 200, 150, 500, 100};
+        int[] minutes = {30, 20, 25, 90, 10};
+
+        List<WorkoutKnapsack.Combination> best = new WorkoutKnapsack(kcal, minutes, 1).best(450, 60, 3);
+
+        assertThat(best).isNotEmpty();
+        assertThat(best.get(0).kcal()).isEqualTo(450);
+        assertThat(best.get(0).minutes()).isLessThanOrEqualTo(60);
+        assertThat(best).allSatisfy(combination -> assertThat(combination.minutes()).isLessThanOrEqualTo(60));
+    }
+
+    @Test
+    void matchesBruteForceAcrossParallelGroups() {
+        Random random = new Random(7);
+        int count = 600;
+        int[] kcal = new int[count];
+        int[] minutes = new int[count];
+        for (int i = 0; i < count; i++) {
+            kcal[i] = 50 + random.nextInt(20) * 25;
+            minutes[i] = 10 + random.nextInt(50);
+        }
+
+        WorkoutKnapsack.Combination best = new WorkoutKnapsack(kcal, minutes, 25).best(1000, 45, 1).get(0);
+
+        assertThat(best.kcal()).isEqualTo(1000);
+        int cheapest = Integer.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            if (kcal[i] == 1000) {
+                cheapest = Math.min(cheapest, minutes[i]);
+            }
+            for (int j = i + 1; j < count; j++) {
+                if (kcal[i] + kcal[j] == 1000) {
+                    cheapest = Math.min(cheapest, minutes[i] + minutes[j]);
+                }
+            }
+        }
+        assertThat(best.minutes()).isLessThanOrEqualTo(cheapest);
+        assertThat(best.items()).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void returnsNothingForExhaustedBudget() {
+        assertThat(new WorkoutKnapsack(new int[]{100}, new int[]{10}, 5).best(0, 60, 3)).isEmpty();
+    }
+}
@@ -0,0 +1,32 @@
+package at.kaindorf.backend.web;
+
+import at.kaindorf.backend.repositorys.GoalRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDate;
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+class GoalBatchQueryCountTests extends QueryCountTestSupport {
+    private static final int MEMBER_ID = -4712;
+    private static final int GOALS = 120;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Test
+    void batchInsertUsesJdbcBatchesAndPooledSequence() throws Exception {
+        StringJoiner body = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < GOALS; i++) {
+            body.add("{\"goalName\":\"Batch " + i + "\",\"kcal\":2000,\"date\":\"" + LocalDate.now().plusDays(i)
+                    + "\",\"userId\":" + MEMBER_ID + "}");
+        }
+
+        assertMaxQueries(post("/goal/batch").contentType(MediaType.APPLICATION_JSON).content(body.toString()), 10);
+        assertThat(goalRepository.getGoalsByUserId(MEMBER_ID)).hasSize(GOALS);
+    }
+}
@@ -0,0 +1,121 @@
+package at.kaindorf.backend.web;
+
+import at.kaindorf.backend.config.LoginTokenService;
+import at.kaindorf.backend.config.PasswordHashingService;
+import at.kaindorf.backend.dto.MemberDto;
+import at.kaindorf.backend.pojos.Member;
+import at.kaindorf.backend.repositorys.MemberRepository;
+import at.kaindorf.backend.services.HistoryExportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class MemberControllerTests {
+    private final MemberRepository memberRepository = mock(MemberRepository.class);
+    private final PasswordHashingService passwordHashingService = mock(PasswordHashingService.class);
+    private final MemberController controller = new MemberController(memberRepository, passwordHashingService, mock(LoginTokenService.class), mock(HistoryExportService.class));
+
+    @BeforeEach
+    void request() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(
+                new MockHttpServletRequest("POST", "/member/register")));
+    }
+
+    @AfterEach
+    void clearRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static Member member() {
+        return new Member("Anna", "Berger", "anna@example.org", "geheim", "0664123", 62);
+    }
+
+    @Test
+    void registerReturnsServiceUnavailableWhenHashingIsSaturated() {
+        when(passwordHashingService.encode("geheim")).thenThrow(new RejectedExecutionException());
+
+        ResponseEntity<MemberDto> response = controller.register(member());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        verifyNoInteractions(memberRepository);
+    }
+
+    @Test
+    void registerReturnsConflictForDuplicateEmail() {
+        when(passwordHashingService.encode("geheim")).thenReturn(CompletableFuture.completedFuture("$2a$hash"));
+        when(memberRepository.save(any())).thenThrow(new DataIntegrityViolationException("member_email_key"));
+
+        ResponseEntity<MemberDto> response = controller.register(member());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void updateHashesThePasswordInTheHashingPool() {
+        Member existing = member();
+        existing.setMemberId(5);
+        when(memberRepository.findById(5)).thenReturn(Optional.of(existing));
+        when(memberRepository.save(existing)).thenReturn(existing);
+        when(passwordHashingService.encode("neu")).thenReturn(CompletableFuture.completedFuture("$2a$neu"));
+        Member update = member();
+        update.setPassword("neu");
+
+        ResponseEntity<MemberDto> response = controller.updateMember(5, update, 5);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(existing.getPassword()).isEqualTo("$2a$neu");
+    }
+
+    @Test
+    void updateReturnsConflictForDuplicateEmail() {
+        Member existing = member();
+        existing.setMemberId(5);
+        when(memberRepository.findById(5)).thenReturn(Optional.of(existing));
+        when(memberRepository.save(existing)).thenThrow(new DataIntegrityViolationException("member_email_key"));
+        Member update = member();
+        update.setPassword("");
+
+        ResponseEntity<MemberDto> response = controller.updateMember(5, update, 5);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        verifyNoInteractions(passwordHashingService);
+    }
+
+    @Test
+    void loginReturnsServiceUnavailableWhenHashingIsSaturated() {
+        when(memberRepository.findByEmail("anna@example.org")).thenReturn(member());
+        when(passwordHashingService.matches(any(), any())).thenThrow(new RejectedExecutionException());
+
+        ResponseEntity<MemberDto> response = controller.login("anna@example.org", "geheim").join();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    void loginHashesAlsoForUnknownEmail() {
+        when(passwordHashingService.matches(eq("geheim"), isNull())).thenReturn(CompletableFuture.completedFuture(false));
+
+        ResponseEntity<MemberDto> response = controller.login("niemand@example.org", "geheim").join();
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verify(passwordHashingService).matches("geheim", null);
+    }
+}
@@ -0,0 +1,50 @@
+package at.kaindorf.backend.web;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=at.kaindorf.backend.web.QueryCounter")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Transactional
+abstract class QueryCountTestSupport {
+    @Autowired
+    protected MockMvc mockMvc;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    protected List<String> statementsFor(RequestBuilder request) throws Exception {
+        // Der Request läuft in der Testtransaktion: Fixtures vorher schreiben und den Kontext leeren,
+        // damit nichts aus dem First-Level-Cache kommt, und eigene Änderungen noch mitzählen
+        entityManager.flush();
+        entityManager.clear();
+        QueryCounter.start();
+        try {
+            mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+            entityManager.flush();
+            return QueryCounter.stop();
+        } finally {
+            QueryCounter.stop();
+        }
+    }
+
+    protected void assertMaxQueries(RequestBuilder request, int maxQueries) throws Exception {
+        List<String> statements = statementsFor(request);
+        assertThat(statements)
+                .as("SQL-Statements für einen Request")
+                .hasSizeLessThanOrEqualTo(maxQueries);
+    }
+}
@@ -0,0 +1,80 @@
+package at.kaindorf.backend.web;
+
+import at.kaindorf.backend.cache.CatalogCache;
+import at.kaindorf.backend.pojos.Exercise;
+import at.kaindorf.backend.pojos.ExerciseLevel;
+import at.kaindorf.backend.pojos.Goal;
+import at.kaindorf.backend.pojos.Workout;
+import at.kaindorf.backend.repositorys.ExerciseRepository;
+import at.kaindorf.backend.repositorys.GoalRepository;
+import at.kaindorf.backend.repositorys.WorkoutRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class WorkoutQueryCountTests extends QueryCountTestSupport {
+    private static final int WORKOUTS = 5;
+    private static final int MEMBER_ID = -4711;
+
+    @Autowired
+    private ExerciseRepository exerciseRepository;
+    @Autowired
+    private WorkoutRepository workoutRepository;
+    @Autowired
+    private GoalRepository goalRepository;
+    @Autowired
+    private CatalogCache catalogCache;
+
+    private final List<Workout> workouts = new ArrayList<>();
+
+    @BeforeEach
+    void createFixtures() {
+        for (int i = 0; i < WORKOUTS; i++) {
+            Exercise exercise = exerciseRepository.save(new Exercise("QueryCount Exercise " + i, ExerciseLevel.values()[0],
+                    "Beine", "url", 10, "Beschreibung"));
+
+            Workout workout = new Workout(30, "QueryCount Workout " + i, "Beschreibung");
+            workout.getExercises().add(exercise);
+            workouts.add(workoutRepository.save(workout));
+
+            Goal goal = new Goal("QueryCount Goal " + i, LocalDate.now().plusDays(i), MEMBER_ID, 2000);
+            goal.getWorkouts().add(workouts.get(i));
+            goalRepository.save(goal);
+        }
+        catalogCache.invalidate();
+    }
+
+    @AfterEach
+    void invalidateCatalog() {
+        catalogCache.invalidate();
+    }
+
+    @Test
+    void workoutListLoadsExercisesWithoutNPlusOne() throws Exception {
+        assertMaxQueries(get("/workout/workouts"), 1);
+    }
+
+    @Test
+    void workoutDetailsLoadExercisesInOneQuery() throws Exception {
+        assertMaxQueries(get("/workout/workout/QueryCount Workout 0"), 1);
+        assertMaxQueries(get("/workout/workout/details/QueryCount Workout 0"), 1);
+        assertMaxQueries(get("/workout/workout/details/id/" + workouts.get(0).getWorkoutId()), 1);
+    }
+
+    @Test
+    void goalListBatchesWorkoutsAndExercises() throws Exception {
+        assertMaxQueries(get("/goal/goals/" + MEMBER_ID), 3);
+    }
+
+    @Test
+    void goalSummaryIsOneAggregateQuery() throws Exception {
+        assertMaxQueries(get("/goal/summary/" + MEMBER_ID), 1);
+    }
+}
@@ -4,4 +4,5 @@ export interface IConsumedItem {
     productName: string;
     kcal: number;
     grams: number;
+    entryId?: number | null;
 }
\ No newline at end of file
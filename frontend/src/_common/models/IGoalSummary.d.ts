@@ -0,0 +1,9 @@
+interface IGoalSummary{
+    goalId: number,
+    goalName: string,
+    date: string,
+    kcal: number,
+    workoutCount: number,
+    exerciseKcal: number,
+    minutes: number
+}
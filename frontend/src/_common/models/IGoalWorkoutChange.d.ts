@@ -0,0 +1,6 @@
+interface IGoalWorkoutChange{
+    goalId: number,
+    added: number,
+    removed: number,
+    unknownWorkoutIds: number[]
+}
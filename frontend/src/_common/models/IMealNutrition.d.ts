@@ -0,0 +1,16 @@
+interface IMealItem{
+    barcode: number,
+    productName: string,
+    grams: number,
+    kcal: number,
+    entryId: number | null
+}
+
+interface IMealNutrition{
+    items: IMealItem[],
+    unknownBarcodes: number[],
+    totalKcal: number,
+    applied: boolean,
+    goalId: number | null,
+    remainingKcal: number | null
+}
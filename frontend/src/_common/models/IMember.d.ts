@@ -3,7 +3,6 @@ interface IMember {
     firstName: string,
     lastName: string,
     email: string,
-    password: string,
     phone: string,
     weight: number,
 }
\ No newline at end of file
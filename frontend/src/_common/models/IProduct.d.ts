@@ -3,5 +3,5 @@ interface IProduct{
     productName: number,
     kcal_100g: number,
     originCountry: string,
-    ingredients: string
+    ingredients?: string
 }
\ No newline at end of file
@@ -0,0 +1,5 @@
+interface IProductSlice{
+    content: IProduct[],
+    after: string | null,
+    hasNext: boolean
+}
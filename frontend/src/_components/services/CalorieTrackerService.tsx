@@ -9,17 +9,32 @@ export class CalorieTrackerService {
         return response.data;
     }
 
-    static async updateGoalKcal(goalId: number, kcal: number): Promise<IGoal> {
-        const response = await axios.put<IGoal>(`http://localhost:8080/goal/${goalId}`,
-            { kcal }, { headers: { 'Content-Type': 'application/json' } }
+    static async getGoal(goalId: number): Promise<IGoal> {
+        const response = await axios.get<IGoal>(`http://localhost:8080/goal/${goalId}`);
+        return response.data;
+    }
+
+    static async searchProductsAfter(searchTerm: string, after: string | null = null): Promise<IProductSlice> {
+        const response = await axios.get<IProductSlice>(
+            `http://localhost:8080/product/searchByName/${searchTerm}`,
+            { params: after ? { after } : {} }
         );
         return response.data;
     }
 
-    static async searchProductsByName(searchTerm: string, page: number = 0): Promise<IProduct[]> {
-        const response = await axios.get(
-            `http://localhost:8080/product/filterByName/${searchTerm}?page=${page}`
+    static async getProduct(barcode: number): Promise<IProduct> {
+        const response = await axios.get<IProduct>(`http://localhost:8080/product/${barcode}`);
+        return response.data;
+    }
+
+    static async logMeal(memberId: number, goalId: number | null, items: { barcode: number, grams: number }[], apply: boolean): Promise<IMealNutrition> {
+        const response = await axios.post<IMealNutrition>(`http://localhost:8080/nutrition/meal`,
+            { memberId, goalId, items, apply }, { headers: { 'Content-Type': 'application/json' }, withCredentials: true }
         );
-        return response.data.content;
+        return response.data;
+    }
+
+    static async revertConsumption(entryId: number): Promise<void> {
+        await axios.post(`http://localhost:8080/consumption/${entryId}/revert`, null, { withCredentials: true });
     }
-}
\ No newline at end of file
+}
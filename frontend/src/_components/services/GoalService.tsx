@@ -5,7 +5,12 @@ import {IWorkout} from "../../_common/models/IWorkout";
 
 export class GoalService {
     static async getGoalsByMemberId(memberId: number): Promise<IGoal[]> {
-        const response = await axios.get<IGoal[]>(`http://localhost:8080/goal/goals/${memberId}`);
+        const response = await axios.get<IGoal[]>(`http://localhost:8080/goal/goals/${memberId}`, { withCredentials: true });
+        return response.data;
+    }
+
+    static async getGoalSummaries(memberId: number): Promise<IGoalSummary[]> {
+        const response = await axios.get<IGoalSummary[]>(`http://localhost:8080/goal/summary/${memberId}`);
         return response.data;
     }
 
@@ -14,23 +19,23 @@ export class GoalService {
             ...goalData,
             userId: memberId,
             workouts: []
-        });
+        }, { withCredentials: true });
         return response.data;
     }
 
     static async updateGoal(goal: IGoal): Promise<IGoal> {
-        const response = await axios.put<IGoal>(`http://localhost:8080/goal/${goal.goalId}`, goal);
+        const response = await axios.put<IGoal>(`http://localhost:8080/goal/${goal.goalId}`, goal, { withCredentials: true });
         return response.data;
     }
 
     static async deleteGoal(goalId: number): Promise<void> {
-        await axios.delete(`http://localhost:8080/goal/${goalId}`);
+        await axios.delete(`http://localhost:8080/goal/${goalId}`, { withCredentials: true });
     }
 
-    static async addWorkoutToGoal(goalId: number, workoutId: number): Promise<IGoal> {
-        const response = await axios.put<IGoal>(
+    static async addWorkoutToGoal(goalId: number, workoutId: number): Promise<IGoalWorkoutChange> {
+        const response = await axios.put<IGoalWorkoutChange>(
             `http://localhost:8080/goal/${goalId}/add-workout`,
-            { workoutId }
+            { workoutId }, { withCredentials: true }
         );
         return response.data;
     }
@@ -40,10 +45,18 @@ export class GoalService {
         return response.data;
     }
 
-    static async removeWorkoutFromGoal(goalId: number, workoutId: number): Promise<IGoal> {
-        const response = await axios.delete<IGoal>(
-            `http://localhost:8080/goal/${goalId}/remove-workout/${workoutId}`
+    static async removeWorkoutFromGoal(goalId: number, workoutId: number): Promise<IGoalWorkoutChange> {
+        const response = await axios.delete<IGoalWorkoutChange>(
+            `http://localhost:8080/goal/${goalId}/remove-workout/${workoutId}`, { withCredentials: true }
+        );
+        return response.data;
+    }
+
+    static async changeGoalWorkouts(goalId: number, add: number[], remove: number[]): Promise<IGoalWorkoutChange> {
+        const response = await axios.patch<IGoalWorkoutChange>(
+            `http://localhost:8080/goal/${goalId}/workouts`,
+            { add, remove }, { withCredentials: true }
         );
         return response.data;
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import { ICalorieHistoryItem } from '../../_common/models/ICalorieHistoryItem';
 import axios from "axios";
 import {IConsumedItem} from "../../_common/models/IConsumedItem";
 import {ICalorieHistoryProps} from "../../_common/models/ICalorieHistoryProps";
+import {CalorieTrackerService} from "../../_components/services/CalorieTrackerService";
 
 const CalorieHistory: React.FC<ICalorieHistoryProps> = ({ goalId, currentGoal, setGoal }) => {
     const [history, setHistory] = useState<ICalorieHistoryItem[]>([]);
@@ -38,6 +39,18 @@ const CalorieHistory: React.FC<ICalorieHistoryProps> = ({ goalId, currentGoal, s
             const removedItem = consumedItems.find(item => item.id === id);
             if (!removedItem || !currentGoal) return;
 
+            if (removedItem.entryId != null) {
+                await CalorieTrackerService.revertConsumption(removedItem.entryId);
+                setGoal(await CalorieTrackerService.getGoal(goalId));
+            } else {
+                // Einträge aus der Zeit vor der Verzehr-Historie haben keine ID am Server
+                const response = await axios.put(`http://localhost:8080/goal/${goalId}`,
+                                                        { kcal: currentGoal.kcal + removedItem.kcal },
+                                                        { headers: { 'Content-Type': 'application/json' } }
+                );
+                setGoal(response.data);
+            }
+
             const updatedItems = consumedItems.filter(item => item.id !== id);
             setConsumedItems(updatedItems);
 
@@ -70,14 +83,6 @@ const CalorieHistory: React.FC<ICalorieHistoryProps> = ({ goalId, currentGoal, s
             storedHistory[goalId] = newHistory;
             localStorage.setItem('calorieHistory', JSON.stringify(storedHistory));
 
-            const newKcal = currentGoal.kcal + removedItem.kcal;
-            const response = await axios.put(`http://localhost:8080/goal/${goalId}`,
-                                                    { kcal: newKcal },
-                                                    { headers: { 'Content-Type': 'application/json' } }
-            );
-
-            setGoal(response.data);
-
             window.dispatchEvent(new Event('storage'));
             alert(`✅ ${removedItem.kcal} kcal wieder entfernt`);
         } catch (error) {
@@ -11,8 +11,11 @@ const CalorieTracker = () => {
     const [products, setProducts] = useState<IProduct[]>([]);
     const [search, setSearch] = useState("");
     const [page, setPage] = useState(0);
+    const [cursors, setCursors] = useState<(string | null)[]>([null]);
+    const [hasNext, setHasNext] = useState(false);
     const [goal, setGoal] = useState<IGoal | null>(null);
     const [gramInputs, setGramInputs] = useState<{[barcode: string]: number}>({});
+    const [ingredients, setIngredients] = useState<{[barcode: string]: string}>({});
     const [showExceedModal, setShowExceedModal] = useState(false);
     const { member } = useMemberContext();
 
@@ -35,22 +38,43 @@ const CalorieTracker = () => {
 
     const fetchProducts = async () => {
         try {
-            const productsData = await CalorieTrackerService.searchProductsByName(search, page);
-            setProducts(productsData);
+            const slice = await CalorieTrackerService.searchProductsAfter(search, cursors[page] ?? null);
+            setProducts(slice.content);
+            setHasNext(slice.hasNext);
+            if (slice.hasNext) {
+                setCursors(prev => [...prev.slice(0, page + 1), slice.after]);
+            }
         } catch (error) {
             console.error("Fehler beim Laden der Produkte:", error);
             setProducts([]);
+            setHasNext(false);
         }
     };
 
     useEffect(() => {
-        if (search.length > 0) {
+        if (search.trim().length > 0) {
             fetchProducts();
         } else {
             setProducts([]);
+            setHasNext(false);
         }
     }, [page, search]);
 
+    const changeSearch = (value: string) => {
+        setSearch(value);
+        setPage(0);
+        setCursors([null]);
+    };
+
+    const loadIngredients = async (barcode: number) => {
+        try {
+            const details = await CalorieTrackerService.getProduct(barcode);
+            setIngredients(prev => ({ ...prev, [barcode]: details.ingredients || "-" }));
+        } catch (error) {
+            console.error("Fehler beim Laden der Zutaten:", error);
+        }
+    };
+
     const addCaloriesToGoal = async (product: IProduct) => {
         if (!goal || goal.goalId == null) {
             alert("❌ Kein gültiges Ziel zum Aktualisieren gefunden.");
@@ -58,9 +82,10 @@ const CalorieTracker = () => {
         }
 
         const grams = gramInputs[product.barcode] || 100;
-        const kcalToAdd = Math.round((product.kcal_100g * grams) / 100);
 
         try {
+            const meal = await CalorieTrackerService.logMeal(userId, goal.goalId, [{ barcode: product.barcode, grams }], true);
+            const kcalToAdd = meal.totalKcal;
             const willExceed = (goal.kcal - kcalToAdd) < 0;
 
             const consumedItem = {
@@ -68,7 +93,8 @@ const CalorieTracker = () => {
                 date: new Date().toISOString(),
                 productName: product.productName,
                 kcal: kcalToAdd,
-                grams: grams
+                grams: grams,
+                entryId: meal.items[0]?.entryId ?? null
             };
 
             const storedConsumed = JSON.parse(localStorage.getItem('consumedItems') || '{}');
@@ -125,12 +151,7 @@ const CalorieTracker = () => {
             storedHistory[goal.goalId] = newHistory;
             localStorage.setItem('calorieHistory', JSON.stringify(storedHistory));
 
-            const updatedGoal = await CalorieTrackerService.updateGoalKcal(
-                goal.goalId,
-                goal.kcal - kcalToAdd
-            );
-
-            setGoal(updatedGoal);
+            setGoal({ ...goal, kcal: meal.remainingKcal ?? goal.kcal - kcalToAdd });
             window.dispatchEvent(new Event('storage'));
 
             if (willExceed) {
@@ -156,10 +177,6 @@ const CalorieTracker = () => {
         }
     };
 
-    const productsPerPage = 50;
-    const startIndex = page * productsPerPage;
-    const endIndex = startIndex + productsPerPage;
-
     return (
         <div style={{ padding: "20px", maxWidth: "1200px", margin: "0 auto" }}>
             <h2 style={{ color: "#2c3e50", marginBottom: "20px" }}>🎯 Aktuelles Ziel</h2>
@@ -194,7 +211,7 @@ const CalorieTracker = () => {
             )}
 
             <div style={{ marginBottom: "20px" }}>
-                <input type="text" placeholder="🔍 Suche Produkt..." value={search} onChange={(e) => setSearch(e.target.value)}
+                <input type="text" placeholder="🔍 Suche Produkt..." value={search} onChange={(e) => changeSearch(e.target.value)}
                     style={{width: "100%", padding: "10px", borderRadius: "4px", border: "1px solid #ddd", fontSize: "16px"}}
                 />
             </div>
@@ -213,12 +230,18 @@ const CalorieTracker = () => {
                             </tr>
                         </thead>
                         <tbody>
-                        {products.slice(startIndex, endIndex).map((product: IProduct) => (
+                        {products.map((product: IProduct) => (
                             <tr key={product.barcode} style={{ borderBottom: "1px solid #eee" }}>
                                 <td style={{ padding: "10px" }}>{product.barcode}</td>
                                 <td style={{ padding: "10px" }}>{product.productName}</td>
                                 <td style={{ padding: "10px" }}>{product.kcal_100g}</td>
-                                <td style={{ padding: "10px" }}>{product.ingredients}</td>
+                                <td style={{ padding: "10px" }}>
+                                    {ingredients[product.barcode] !== undefined ? ingredients[product.barcode] : (
+                                        <button className="btn btn-sm btn-outline-secondary" onClick={() => loadIngredients(product.barcode)}>
+                                            anzeigen
+                                        </button>
+                                    )}
+                                </td>
                                 <td style={{ padding: "10px" }}>
                                     <input type="number" value={gramInputs[product.barcode] || ""} onChange={(e) => handleGramInputChange(String(product.barcode), e.target.value)}
                                         placeholder="100" min="1" style={{width: "60px", padding: "5px", borderRadius: "4px", border: "1px solid #ddd"}}
@@ -241,7 +264,7 @@ const CalorieTracker = () => {
                 </div>
             )}
 
-            {products.length > productsPerPage && (
+            {(page > 0 || hasNext) && (
                 <div style={{display: "flex", justifyContent: "center", alignItems: "center", marginBottom: "20px"}}>
                     <button onClick={() => setPage((p) => Math.max(p - 1, 0))} disabled={page === 0}
                         style={{padding: "8px 16px", margin: "0 5px", backgroundColor: page === 0 ? "#bdc3c7" : "#3498db",
@@ -249,12 +272,11 @@ const CalorieTracker = () => {
                         ◀️ Zurück
                     </button>
                     <span style={{ margin: "0 10px" }}>
-                        Seite {page + 1} von {Math.ceil(products.length / productsPerPage)}
+                        Seite {page + 1}
                     </span>
-                    <button onClick={() => setPage((p) => Math.min(p + 1, Math.ceil(products.length / productsPerPage) - 1))}
-                        disabled={startIndex + productsPerPage >= products.length}
-                        style={{padding: "8px 16px", margin: "0 5px", backgroundColor: startIndex + productsPerPage >= products.length ? "#bdc3c7" : "#3498db",
-                            color: "white", border: "none", borderRadius: "4px", cursor: startIndex + productsPerPage >= products.length ? "not-allowed" : "pointer"}}>
+                    <button onClick={() => setPage((p) => p + 1)} disabled={!hasNext}
+                        style={{padding: "8px 16px", margin: "0 5px", backgroundColor: !hasNext ? "#bdc3c7" : "#3498db",
+                            color: "white", border: "none", borderRadius: "4px", cursor: !hasNext ? "not-allowed" : "pointer"}}>
                         Weiter ▶️
                     </button>
                 </div>
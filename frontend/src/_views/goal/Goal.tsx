@@ -18,6 +18,7 @@ ChartJS.register(CategoryScale, LinearScale, BarElement, Title, Tooltip, Legend)
 const Goal = () => {
     const { member } = useMemberContext();
     const [goals, setGoals] = useState<IGoal[]>([]);
+    const [summaries, setSummaries] = useState<{[goalId: number]: IGoalSummary}>({});
     const [selectedGoal, setSelectedGoal] = useState<IGoal | null>(null);
 
     const [showWorkoutSelection, setShowWorkoutSelection] = useState(false);
@@ -28,19 +29,48 @@ const Goal = () => {
     const [newGoal, setNewGoal] = useState({ goalName: "", kcal: 0, date: "" });
     const [editGoal, setEditGoal] = useState<IGoal | null>(null);
 
-    const fetchData = async () => {
+    const fetchData = async (): Promise<IGoal[]> => {
         if (member) {
             try {
-                const [goalsRes, workoutsRes] = await Promise.all([
+                const [goalsRes, workoutsRes, summariesRes] = await Promise.all([
                     GoalService.getGoalsByMemberId(member.memberId),
-                    GoalService.getAllWorkouts()
+                    GoalService.getAllWorkouts(),
+                    GoalService.getGoalSummaries(member.memberId)
                 ]);
                 setGoals(goalsRes);
+                setSummaries(Object.fromEntries(summariesRes.map((summary) => [summary.goalId, summary])));
                 setWorkouts(workoutsRes);
+                return goalsRes;
             } catch (err) {
                 console.error(err);
             }
         }
+        return [];
+    };
+
+    const applyWorkoutChange = (goalId: number, workout: IWorkout, added: boolean) => {
+        const sign = added ? 1 : -1;
+        const change = (goalWorkouts: IWorkout[] = []) => added
+            ? [...goalWorkouts, workout]
+            : goalWorkouts.filter((w) => w.workoutId !== workout.workoutId);
+
+        setGoals((prev) => prev.map((goal) =>
+            goal.goalId === goalId ? { ...goal, workouts: change(goal.workouts) } : goal));
+        setSelectedGoal((prev) =>
+            prev && prev.goalId === goalId ? { ...prev, workouts: change(prev.workouts) } : prev);
+        setSummaries((prev) => {
+            const summary = prev[goalId];
+            if (!summary) return prev;
+            return {
+                ...prev,
+                [goalId]: {
+                    ...summary,
+                    workoutCount: summary.workoutCount + sign,
+                    minutes: summary.minutes + sign * (workout.time || 0),
+                    exerciseKcal: summary.exerciseKcal + sign * calculateTotalCalories(workout.exercises)
+                }
+            };
+        });
     };
 
     useEffect(() => {
@@ -51,13 +81,14 @@ const Goal = () => {
         if (!selectedGoal || !member) return;
 
         try {
-            const updatedGoal = await GoalService.addWorkoutToGoal(
+            const change = await GoalService.addWorkoutToGoal(
                 selectedGoal.goalId,
                 workout.workoutId
             );
 
-            setSelectedGoal(updatedGoal);
-            fetchData();
+            if (change.added > 0) {
+                applyWorkoutChange(selectedGoal.goalId, workout, true);
+            }
             setShowWorkoutSelection(false);
         } catch (err: any) {
             console.error(err);
@@ -68,13 +99,15 @@ const Goal = () => {
         if (!selectedGoal) return;
 
         try {
-            const updatedGoal = await GoalService.removeWorkoutFromGoal(
+            const change = await GoalService.removeWorkoutFromGoal(
                 selectedGoal.goalId,
                 workoutId
             );
 
-            setSelectedGoal(updatedGoal);
-            fetchData();
+            const removed = selectedGoal.workouts?.find((w) => w.workoutId === workoutId);
+            if (change.removed > 0 && removed) {
+                applyWorkoutChange(selectedGoal.goalId, removed, false);
+            }
         } catch (err: any) {
             console.error("Detailed error:", err);
             if (err.response) {
@@ -249,6 +282,11 @@ const Goal = () => {
                                                     <h5>{goal.goalName}</h5>
                                                     <p>Datum: {new Date(goal.date).toLocaleDateString()}</p>
                                                     <p>Kalorienziel: {goal.kcal} kcal</p>
+                                                    {summaries[goal.goalId] && (
+                                                        <p>
+                                                            Workouts: {summaries[goal.goalId].workoutCount} · {summaries[goal.goalId].minutes} Minuten · {summaries[goal.goalId].exerciseKcal} kcal
+                                                        </p>
+                                                    )}
                                                 </div>
                                                 <div>
                                                     <button
@@ -1,8 +1,18 @@
-import React from "react";
-import { Outlet } from "react-router-dom";
+import React, { useEffect } from "react";
+import { Outlet, useNavigate } from "react-router-dom";
 import MenuBar from "./MenuBar";
+import { useMemberContext } from "../../_common/context/MemberContext";
+import { UserService } from "../../_components/services/UserService";
 
 const Layout = () => {
+    const navigate = useNavigate();
+    const { setMember } = useMemberContext();
+
+    useEffect(() => UserService.onUnauthorized(() => {
+        setMember(null);
+        navigate("/");
+    }), [navigate, setMember]);
+
     return (
         <div className="d-flex" style={{ minHeight: "100vh", backgroundColor:"lightgrey" }}>
             <MenuBar />
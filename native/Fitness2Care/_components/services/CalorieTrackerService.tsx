@@ -11,7 +11,7 @@ export class CalorieTrackerService {
 
     static async updateGoalKcal(goalId: number, kcal: number): Promise<IGoal> {
         const response = await axios.put<IGoal>(`http://localhost:8080/goal/${goalId}`,
-            { kcal }, { headers: { 'Content-Type': 'application/json' } }
+            { kcal }, { headers: { 'Content-Type': 'application/json' }, withCredentials: true }
         );
         return response.data;
     }
@@ -22,4 +22,9 @@ export class CalorieTrackerService {
         );
         return response.data.content;
     }
-}
\ No newline at end of file
+
+    static async getProduct(barcode: number): Promise<IProduct> {
+        const response = await axios.get<IProduct>(`http://localhost:8080/product/${barcode}`);
+        return response.data;
+    }
+}
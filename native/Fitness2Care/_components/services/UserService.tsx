@@ -6,6 +6,10 @@ export class UserService {
         const response = await axios.get<IMember>('http://localhost:8080/member/login', {
             params: { email, password }
         });
+        const token = response.headers['authorization'];
+        if (token) {
+            axios.defaults.headers.common['Authorization'] = token;
+        }
         return response.data;
     }
 
@@ -42,4 +46,15 @@ export class UserService {
         );
         return response.data;
     }
-}
\ No newline at end of file
+
+    static onUnauthorized(handler: () => void): () => void {
+        const interceptor = axios.interceptors.response.use(undefined, (error) => {
+            if (error.response?.status === 401 && !error.config?.url?.endsWith('/member/login')) {
+                delete axios.defaults.headers.common['Authorization'];
+                handler();
+            }
+            return Promise.reject(error);
+        });
+        return () => axios.interceptors.response.eject(interceptor);
+    }
+}
@@ -25,6 +25,7 @@ const CalorieTracker = () => {
     const [page, setPage] = useState(0);
     const [goal, setGoal] = useState<IGoal | null>(null);
     const [gramInputs, setGramInputs] = useState<{[barcode: string]: number}>({});
+    const [ingredients, setIngredients] = useState<{[barcode: string]: string}>({});
     const [showExceedModal, setShowExceedModal] = useState(false);
     const { member } = useMemberContext();
 
@@ -56,13 +57,22 @@ const CalorieTracker = () => {
     };
 
     useEffect(() => {
-        if (search.length > 0) {
+        if (search.trim().length > 0) {
             fetchProducts();
         } else {
             setProducts([]);
         }
     }, [page, search]);
 
+    const loadIngredients = async (barcode: number) => {
+        try {
+            const details = await CalorieTrackerService.getProduct(barcode);
+            setIngredients(prev => ({ ...prev, [barcode]: details.ingredients || "-" }));
+        } catch (error) {
+            console.error("Fehler beim Laden der Zutaten:", error);
+        }
+    };
+
     const addCaloriesToGoal = async (product: IProduct) => {
         if (!goal || goal.goalId == null) {
             Alert.alert("Fehler", "Kein gültiges Ziel zum Aktualisieren gefunden.");
@@ -179,7 +189,13 @@ const CalorieTracker = () => {
                 <Text style={styles.barcode}>{item.barcode}</Text>
                 <Text style={styles.productName}>{item.productName}</Text>
                 <Text style={styles.kcal}>{item.kcal_100g} kcal/100g</Text>
-                <Text style={styles.ingredients}>{item.ingredients}</Text>
+                {ingredients[item.barcode] !== undefined ? (
+                    <Text style={styles.ingredients}>{ingredients[item.barcode]}</Text>
+                ) : (
+                    <TouchableOpacity onPress={() => loadIngredients(item.barcode)}>
+                        <Text style={styles.ingredientsLink}>Zutaten anzeigen</Text>
+                    </TouchableOpacity>
+                )}
             </View>
             <View style={styles.productActions}>
                 <TextInput
@@ -397,6 +413,11 @@ const styles = StyleSheet.create({
         color: '#7f8c8d',
         marginTop: 5
     },
+    ingredientsLink: {
+        fontSize: 12,
+        color: '#3498db',
+        marginTop: 5
+    },
     gramInput: {
         width: 60,
         padding: 5,
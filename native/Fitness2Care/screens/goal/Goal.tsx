@@ -52,16 +52,24 @@ const Goal = () => {
         fetchData();
     }, [member]);
 
+    const applyWorkoutChange = (goalId: number, change: (workouts: IWorkout[]) => IWorkout[]) => {
+        setGoals(prev => prev.map(goal =>
+            goal.goalId === goalId ? { ...goal, workouts: change(goal.workouts || []) } : goal));
+        setSelectedGoal(prev =>
+            prev && prev.goalId === goalId ? { ...prev, workouts: change(prev.workouts || []) } : prev);
+    };
+
     const handleSelectWorkout = async (workout: IWorkout) => {
         if (!selectedGoal || !member) return;
 
         try {
-            const updatedGoal = await GoalService.addWorkoutToGoal(
+            const change = await GoalService.addWorkoutToGoal(
                 selectedGoal.goalId,
                 workout.workoutId
             );
-            setSelectedGoal(updatedGoal);
-            fetchData();
+            if (change.added > 0) {
+                applyWorkoutChange(selectedGoal.goalId, workouts => [...workouts, workout]);
+            }
             setShowWorkoutSelection(false);
         } catch (err) {
             console.error(err);
@@ -72,12 +80,13 @@ const Goal = () => {
         if (!selectedGoal) return;
 
         try {
-            const updatedGoal = await GoalService.removeWorkoutFromGoal(
+            const change = await GoalService.removeWorkoutFromGoal(
                 selectedGoal.goalId,
                 workoutId
             );
-            setSelectedGoal(updatedGoal);
-            fetchData();
+            if (change.removed > 0) {
+                applyWorkoutChange(selectedGoal.goalId, workouts => workouts.filter(w => w.workoutId !== workoutId));
+            }
         } catch (err) {
             console.error("Error removing workout:", err);
         }
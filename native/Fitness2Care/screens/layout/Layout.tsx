@@ -1,8 +1,19 @@
-import React from 'react';
+import React, { useEffect } from 'react';
 import { View, StyleSheet } from 'react-native';
+import { useNavigation } from '@react-navigation/native';
 import MenuBar from '../layout/Menubar';
+import { useMemberContext } from '../../_common/context/MemberContext';
+import { UserService } from '../../_components/services/UserService';
 
 const Layout = ({ children }: { children: React.ReactNode }) => {
+    const navigation = useNavigation<any>();
+    const { setMember } = useMemberContext();
+
+    useEffect(() => UserService.onUnauthorized(() => {
+        setMember(null);
+        navigation.reset({ index: 0, routes: [{ name: 'Login' }] });
+    }), [navigation, setMember]);
+
     return (
         <View style={styles.container}>
             <MenuBar />